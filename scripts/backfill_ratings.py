@@ -0,0 +1,27 @@
+from pymongo import MongoClient, UpdateOne
+
+# MongoDB connection details
+mongo_host = "localhost"
+mongo_port = 27017
+
+# Connect to MongoDB
+client = MongoClient(mongo_host, mongo_port)
+db = client["spots"]
+spotsCollection = db["spot"]
+reviewsCollection = db["review"]
+
+# Sum and count the ratings of every spot that has reviews
+totals = reviewsCollection.aggregate([
+  {"$group": {"_id": "$spotId", "ratingSum": {"$sum": "$rating"}, "ratingCount": {"$sum": 1}}}
+])
+
+# Write the running totals that review inserts and deletes keep up to date from now on
+updates = [
+  UpdateOne({"_id": total["_id"]},
+            {"$set": {"ratingSum": total["ratingSum"], "ratingCount": total["ratingCount"]}})
+  for total in totals
+]
+if updates:
+  spotsCollection.bulk_write(updates, ordered=False)
+
+print(f"Backfilled rating totals for {len(updates)} spots")
@@ -0,0 +1,45 @@
+import json
+import sys
+
+# Usage: python3 compare_jmh.py baseline.json candidate.json [threshold_percent]
+# Both files are JMH JSON results, e.g. build/reports/jmh/results.json from two commits.
+baseline_path, candidate_path = sys.argv[1], sys.argv[2]
+threshold = float(sys.argv[3]) if len(sys.argv) > 3 else 5.0
+
+
+def load(path):
+  with open(path) as f:
+    results = json.load(f)
+  scores = {}
+  for result in results:
+    params = ",".join(f"{k}={v}" for k, v in sorted(result.get("params", {}).items()))
+    name = result["benchmark"] + (f"[{params}]" if params else "")
+    metric = result["primaryMetric"]
+    scores[name] = (metric["score"], metric["scoreError"], metric["scoreUnit"], result["mode"])
+  return scores
+
+
+baseline = load(baseline_path)
+candidate = load(candidate_path)
+
+# Throughput is better when higher, average time when lower
+regressions = 0
+for name in sorted(baseline.keys() & candidate.keys()):
+  before, before_error, unit, mode = baseline[name]
+  after, after_error, _, _ = candidate[name]
+  change = (after - before) / before * 100 if before else 0.0
+  worse = -change if mode == "thrpt" else change
+  # Differences inside the combined error bars are noise, not regressions
+  significant = abs(after - before) > before_error + after_error
+  flag = ""
+  if significant and worse > threshold:
+    flag = "REGRESSION"
+    regressions += 1
+  elif significant and -worse > threshold:
+    flag = "improved"
+  print(f"{name:<90} {before:>14.2f} {after:>14.2f} {unit:<8} {change:+7.1f}% {flag}")
+
+for name in sorted(baseline.keys() - candidate.keys()):
+  print(f"{name:<90} missing from {candidate_path}")
+
+sys.exit(1 if regressions else 0)
@@ -0,0 +1,60 @@
+from pymongo import MongoClient, DeleteOne, InsertOne, UpdateOne
+from pymongo.errors import BulkWriteError
+
+# MongoDB connection details
+mongo_host = "localhost"
+mongo_port = 27017
+batch_size = 500
+
+# Connect to MongoDB
+client = MongoClient(mongo_host, mongo_port)
+db = client["spots"]
+
+# Collections whose numeric id must live in _id, where the entities map it with @Id
+collections = ["user", "spot", "review", "payment", "verificationCode"]
+
+
+def flush(collection, inserts, unsets):
+  """Moves a batch of documents to their numeric _id and returns (migrated, conflicts)."""
+  conflicts = set()
+  if inserts:
+    try:
+      collection.bulk_write([InsertOne(doc) for _, doc in inserts], ordered=False)
+    except BulkWriteError as e:
+      # Another document already owns that _id; leave the original in place for review
+      conflicts = {error["index"] for error in e.details["writeErrors"]}
+    deletes = [DeleteOne({"_id": old_id}) for i, (old_id, _) in enumerate(inserts) if i not in conflicts]
+    if deletes:
+      collection.bulk_write(deletes, ordered=False)
+  if unsets:
+    collection.bulk_write(unsets, ordered=False)
+  return len(inserts) - len(conflicts) + len(unsets), len(conflicts)
+
+
+# Documents written with a separate "id" field get it moved into _id. _id is immutable, so a
+# document whose _id differs is re-inserted under the numeric id and the old copy deleted.
+# Only one batch is held in memory at a time.
+for name in collections:
+  collection = db[name]
+  migrated = 0
+  conflicts = 0
+  inserts = []
+  unsets = []
+  for doc in collection.find({"id": {"$exists": True}}, batch_size=batch_size):
+    numeric_id = doc.pop("id")
+    if doc["_id"] == numeric_id:
+      unsets.append(UpdateOne({"_id": numeric_id}, {"$unset": {"id": ""}}))
+    else:
+      old_id = doc["_id"]
+      doc["_id"] = numeric_id
+      inserts.append((old_id, doc))
+    if len(inserts) + len(unsets) >= batch_size:
+      done, failed = flush(collection, inserts, unsets)
+      migrated += done
+      conflicts += failed
+      inserts = []
+      unsets = []
+  done, failed = flush(collection, inserts, unsets)
+  migrated += done
+  conflicts += failed
+  print(f"{name}: migrated {migrated} documents, {conflicts} left in place because the id is taken")
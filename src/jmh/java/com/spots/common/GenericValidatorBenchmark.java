@@ -0,0 +1,89 @@
+package com.spots.common;
+
+import com.spots.common.input.RegisterBody;
+import com.spots.domain.Location;
+import com.spots.domain.Spot;
+import com.spots.service.auth.InvalidInputException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Validations per second through the shared validator, for valid and rejected input, against
+ * building a fresh validator factory for the first validation, which every service field used
+ * to pay for at startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class GenericValidatorBenchmark {
+    private ValidatorFactory factory;
+    private GenericValidator validator;
+    private Spot spot;
+    private RegisterBody registerBody;
+    private RegisterBody invalidRegisterBody;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = new GenericValidator(factory.getValidator());
+        spot =
+                Spot.builder()
+                        .id(1)
+                        .name("Belogradchik Rocks")
+                        .description("Sandstone and conglomerate rock formations")
+                        .overallRating(8)
+                        .location(Location.builder().latitude(43.6253f).longitude(22.6833f).build())
+                        .build();
+        registerBody =
+                RegisterBody.builder().email("benchmark@spots.com").password("password1").build();
+        invalidRegisterBody = registerBody.toBuilder().email("not-an-email").password("pw").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Spot validateSpot() {
+        validator.validate(spot);
+        return spot;
+    }
+
+    @Benchmark
+    public RegisterBody validateRegisterBody() {
+        validator.validate(registerBody);
+        return registerBody;
+    }
+
+    @Benchmark
+    public String rejectRegisterBody() {
+        try {
+            validator.validate(invalidRegisterBody);
+            throw new IllegalStateException("expected a violation");
+        } catch (InvalidInputException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Spot validateWithNewFactory() {
+        try (var newFactory = Validation.buildDefaultValidatorFactory()) {
+            new GenericValidator(newFactory.getValidator()).validate(spot);
+        }
+        return spot;
+    }
+}
@@ -0,0 +1,117 @@
+package com.spots.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.spots.common.output.UserDto;
+import com.spots.domain.Location;
+import com.spots.domain.Review;
+import com.spots.domain.Role;
+import com.spots.domain.Spot;
+import com.spots.domain.UserInfo;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Response bodies serialized per second for list endpoints of {@code size} elements. The mapper
+ * comes from {@link Jackson2ObjectMapperBuilder} so it has the same modules and features as the
+ * one Spring Boot hands to the message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class JsonSerializationBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<Spot> spots;
+    private List<Review> reviews;
+    private List<UserDto> users;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        spots =
+                LongStream.rangeClosed(1, size)
+                        .mapToObj(
+                                id ->
+                                        Spot.builder()
+                                                .id(id)
+                                                .name("Spot " + id)
+                                                .description("A place worth the trip, number " + id)
+                                                .overallRating(7.5f)
+                                                .imageName("spot-" + id + ".jpg")
+                                                .location(
+                                                        Location.builder()
+                                                                .latitude(42.6977f)
+                                                                .longitude(23.3219f)
+                                                                .build())
+                                                .build())
+                        .toList();
+        reviews =
+                LongStream.rangeClosed(1, size)
+                        .mapToObj(
+                                id ->
+                                        Review.builder()
+                                                .id(id)
+                                                .spotId(1L)
+                                                .rating(8)
+                                                .comment("Great view from the top, review " + id)
+                                                .userInfo(
+                                                        UserInfo.builder()
+                                                                .userId(id)
+                                                                .username("user" + id)
+                                                                .imageName("user-" + id + ".jpg")
+                                                                .build())
+                                                .build())
+                        .toList();
+        users =
+                LongStream.rangeClosed(1, size)
+                        .mapToObj(
+                                id ->
+                                        UserDto.builder()
+                                                .id(id)
+                                                .role(Role.USER)
+                                                .username("user" + id)
+                                                .email("user" + id + "@spots.com")
+                                                .imageName("user-" + id + ".jpg")
+                                                .nextRandomSpotGeneratedTime(LocalDateTime.now())
+                                                .currentSpotId(id)
+                                                .conqueredSpots(Set.of(1L, 2L, 3L, 4L, 5L))
+                                                .emailVerified(true)
+                                                .build())
+                        .toList();
+    }
+
+    @Benchmark
+    public byte[] spots() throws JsonProcessingException {
+        return writer.writeValueAsBytes(spots);
+    }
+
+    @Benchmark
+    public byte[] reviews() throws JsonProcessingException {
+        return writer.writeValueAsBytes(reviews);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return writer.writeValueAsBytes(users);
+    }
+}
@@ -0,0 +1,101 @@
+package com.spots.config;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.spots.domain.Role;
+import com.spots.domain.User;
+import com.spots.repository.UserRepository;
+import com.spots.service.auth.AuthenticatedUserCache;
+import com.spots.service.auth.JwtService;
+import com.spots.service.auth.TokenRevocationStore;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Authenticated requests per second through the JWT filter with a warm user cache and a seeded
+ * revocation filter, i.e. the path every request to a protected endpoint takes once the node is
+ * up. Redis and Mongo are mocked out; only the in-process work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class JwtAuthenticationFilterBenchmark {
+    private static final String EMAIL = "benchmark@spots.com";
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final var jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(
+                jwtService,
+                "secretKey",
+                Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        jwtService.init();
+
+        final var user = User.builder().id(1).email(EMAIL).role(Role.USER).build();
+        final var userRepository = mock(UserRepository.class);
+        when(userRepository.findUserByEmail(anyString())).thenReturn(Optional.of(user));
+        final var userCache =
+                new AuthenticatedUserCache(
+                        userRepository,
+                        mock(RedisTemplate.class),
+                        new SimpleMeterRegistry(),
+                        10_000,
+                        Duration.ofMinutes(5));
+
+        final var revocationStore =
+                new TokenRevocationStore(mock(RedisTemplate.class), 100_000, 0.01);
+        revocationStore.rebuild();
+
+        filter =
+                new JwtAuthenticationFilter(
+                        jwtService, revocationStore, userCache, (req, res, handler, ex) -> null);
+        authorization = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        final var request = new MockHttpServletRequest("GET", "/spots");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        final Authentication[] authentication = new Authentication[1];
+        final FilterChain chain =
+                (req, res) ->
+                        authentication[0] = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return authentication[0];
+    }
+}
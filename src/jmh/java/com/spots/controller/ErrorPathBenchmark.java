@@ -0,0 +1,103 @@
+package com.spots.controller;
+
+import com.spots.common.output.ApiError;
+import com.spots.service.spots.InvalidSpotIdException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Not-found responses per second, thrown {@code depth} frames below the handler to stand in for
+ * the controller, proxy and service frames of a real request. The old path captured a stack trace
+ * on every throw and built the error in a catch block in the controller; the new one throws a
+ * stackless exception, fresh or preallocated, and lets {@link GlobalExceptionHandler} build it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class ErrorPathBenchmark {
+    private static final String MESSAGE = "Spot with this id doesn't exists!";
+    private static final InvalidSpotIdException PREALLOCATED = new InvalidSpotIdException(MESSAGE);
+
+    @Param({"20", "100"})
+    private int depth;
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("GET", "/api/spots/42");
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> stackTraceException() {
+        try {
+            return atDepth(
+                    depth,
+                    () -> {
+                        throw new LegacySpotIdException(MESSAGE);
+                    });
+        } catch (LegacySpotIdException e) {
+            final var error =
+                    new ApiError(
+                            LocalDateTime.now(),
+                            HttpStatus.BAD_REQUEST.value(),
+                            e.getMessage(),
+                            request.getRequestURI());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> stacklessException() {
+        try {
+            return atDepth(
+                    depth,
+                    () -> {
+                        throw new InvalidSpotIdException(MESSAGE);
+                    });
+        } catch (InvalidSpotIdException e) {
+            return handler.handleApiException(e, request);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> preallocatedException() {
+        try {
+            return atDepth(
+                    depth,
+                    () -> {
+                        throw PREALLOCATED;
+                    });
+        } catch (InvalidSpotIdException e) {
+            return handler.handleApiException(e, request);
+        }
+    }
+
+    private static <T> T atDepth(int depth, Supplier<T> action) {
+        return depth == 0 ? action.get() : atDepth(depth - 1, action);
+    }
+
+    /** The exceptions as they were before: a plain RuntimeException with a stack trace. */
+    private static final class LegacySpotIdException extends RuntimeException {
+        private LegacySpotIdException(String message) {
+            super(message);
+        }
+    }
+}
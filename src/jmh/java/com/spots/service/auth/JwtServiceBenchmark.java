@@ -0,0 +1,73 @@
+package com.spots.service.auth;
+
+import com.spots.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tokens issued and verified per second on a single thread. Verification with the cached parser
+ * is compared against the old path, which rebuilt the key and parser on every call and parsed the
+ * token once for expiration and once for the subject.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class JwtServiceBenchmark {
+    private String secretKey;
+    private String jwt;
+    private JwtService jwtService;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        secretKey = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", secretKey);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        jwtService.init();
+        user = User.builder().email("benchmark@spots.com").build();
+        jwt = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String parseOnce() {
+        return jwtService.verify(jwt).getSubject();
+    }
+
+    @Benchmark
+    public String parsePerClaim() {
+        if (legacyClaims().getExpiration().before(new Date())) {
+            throw new IllegalStateException("expired");
+        }
+        return legacyClaims().getSubject();
+    }
+
+    private Claims legacyClaims() {
+        final Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+    }
+}
@@ -0,0 +1,68 @@
+package com.spots.service.common;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.spots.domain.DatabaseSequence;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+
+/** Inserts per second for the block allocator against the old read-modify-write counter. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class SequenceGeneratorBenchmark {
+    private MongoDBContainer mongo;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private SequenceGeneratorService sequenceGeneratorService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mongo = new MongoDBContainer("mongo:6.0");
+        mongo.start();
+        client = MongoClients.create(mongo.getConnectionString());
+        final var databaseFactory = new SimpleMongoClientDatabaseFactory(client, "spots");
+        mongoTemplate = new MongoTemplate(databaseFactory);
+        sequenceGeneratorService =
+                new SequenceGeneratorService(mongoTemplate, new MongoTransactionManager(databaseFactory));
+        ReflectionTestUtils.setField(sequenceGeneratorService, "blockSize", 1000L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        mongo.stop();
+    }
+
+    @Benchmark
+    public long blockAllocated() {
+        return sequenceGeneratorService.generateSequence("block_sequence");
+    }
+
+    @Benchmark
+    public long readModifyWrite() {
+        final var counter =
+                Optional.ofNullable(mongoTemplate.findById("legacy_sequence", DatabaseSequence.class))
+                        .orElseGet(() -> new DatabaseSequence("legacy_sequence", 1L));
+        final var index = counter.getSeq();
+        counter.setSeq(index + 1);
+        mongoTemplate.save(counter);
+        return index;
+    }
+}
@@ -0,0 +1,57 @@
+package com.spots.service.spots;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.HashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Random spot picks per second over a 10k spot catalog for users who have conquered the given
+ * share of it. Low shares stay on the rejection-sampling path, high shares fall through to the
+ * exact pick over the sorted excluded slots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class SpotIdIndexBenchmark {
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"0.01", "0.5", "0.99"})
+    private double conqueredShare;
+
+    private SpotIdIndex spotIdIndex;
+    private Set<Long> conquered;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        spotIdIndex = new SpotIdIndex(mock(MongoTemplate.class));
+        for (long spotId = 1; spotId <= CATALOG_SIZE; spotId++) {
+            spotIdIndex.add(spotId);
+        }
+        conquered = new HashSet<>();
+        final var random = ThreadLocalRandom.current();
+        while (conquered.size() < CATALOG_SIZE * conqueredShare) {
+            conquered.add(random.nextLong(1, CATALOG_SIZE + 1));
+        }
+    }
+
+    @Benchmark
+    public OptionalLong randomSpotId() {
+        return spotIdIndex.randomSpotId(conquered);
+    }
+}
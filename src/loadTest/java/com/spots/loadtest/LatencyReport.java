@@ -0,0 +1,122 @@
+package com.spots.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-endpoint latency histograms and error counts. Only requests that start inside the
+ * measurement window are recorded, so warmup traffic never shows up in the percentiles.
+ */
+final class LatencyReport {
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile long measureFrom = Long.MAX_VALUE;
+    private volatile long measureUntil = Long.MAX_VALUE;
+
+    void startMeasuring(long now) {
+        measureFrom = now;
+    }
+
+    void stopMeasuring(long now) {
+        measureUntil = now;
+    }
+
+    boolean isMeasured(long startNanos) {
+        return startNanos >= measureFrom && startNanos < measureUntil;
+    }
+
+    void record(String endpoint, long startNanos, long endNanos, boolean success) {
+        if (!isMeasured(startNanos)) {
+            return;
+        }
+        final var stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    void print(long measuredNanos) {
+        final double seconds = measuredNanos / 1e9;
+        System.out.printf(
+                "%n%-32s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint",
+                "requests",
+                "errors",
+                "req/s",
+                "p50 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms");
+        for (var row : rows(seconds)) {
+            System.out.printf(
+                    "%-32s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    row.get("endpoint"),
+                    row.get("requests"),
+                    row.get("errors"),
+                    row.get("throughput"),
+                    row.get("p50Ms"),
+                    row.get("p99Ms"),
+                    row.get("p999Ms"),
+                    row.get("maxMs"));
+        }
+    }
+
+    void write(Path path, long measuredNanos, LoadTestSettings settings) throws IOException {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings.toString());
+        report.put("measuredSeconds", measuredNanos / 1e9);
+        report.put("endpoints", rows(measuredNanos / 1e9));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(path.toFile(), report);
+    }
+
+    private List<Map<String, Object>> rows(double seconds) {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        final Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (var name : endpoints.keySet().stream().sorted().toList()) {
+            final var stats = endpoints.get(name);
+            final Histogram latencies = stats.latencies.copy();
+            total.add(latencies);
+            totalErrors += stats.errors.sum();
+            rows.add(row(name, latencies, stats.errors.sum(), seconds));
+        }
+        rows.add(row("total", total, totalErrors, seconds));
+        return rows;
+    }
+
+    private static Map<String, Object> row(
+            String name, Histogram latencies, long errors, double seconds) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", name);
+        row.put("requests", latencies.getTotalCount());
+        row.put("errors", errors);
+        row.put("throughput", latencies.getTotalCount() / seconds);
+        row.put("p50Ms", latencies.getValueAtPercentile(50) / 1000.0);
+        row.put("p99Ms", latencies.getValueAtPercentile(99) / 1000.0);
+        row.put("p999Ms", latencies.getValueAtPercentile(99.9) / 1000.0);
+        row.put("maxMs", latencies.getMaxValue() / 1000.0);
+        return row;
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,163 @@
+package com.spots.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spots.SpotsServicesApplication;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Seeds a Mongo and a Redis container, starts the service in this JVM against them and replays a
+ * realistic request mix over HTTP, then prints p50/p99/p99.9 latency and throughput per endpoint
+ * and writes the same numbers as JSON. Nothing leaves the machine; the container images only need
+ * to be pulled once.
+ *
+ * <p>Run with {@code ./gradlew loadTest}; see {@link LoadTestSettings} for the knobs.
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        final var settings = new LoadTestSettings();
+        System.out.println("Load test: " + settings);
+
+        try (var mongo = new MongoDBContainer("mongo:6.0");
+                GenericContainer<?> redis =
+                        new GenericContainer<>(DockerImageName.parse("redis:7.0"))
+                                .withExposedPorts(6379)) {
+            mongo.start();
+            redis.start();
+            final var mongoUri = mongo.getReplicaSetUrl("spots");
+
+            final long start = System.nanoTime();
+            SeedData.seed(mongoUri, settings);
+            System.out.printf(
+                    "Seeded %d users, %d spots and %d reviews in %d ms%n",
+                    settings.users,
+                    settings.spots,
+                    (long) settings.spots * settings.reviewsPerSpot,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            final var profiles =
+                    settings.profiles.isEmpty() ? new String[0] : settings.profiles.split(",");
+            try (var context =
+                    new SpringApplicationBuilder(SpotsServicesApplication.class)
+                            .profiles(profiles)
+                            .properties(serviceProperties(mongoUri, redis))
+                            .run()) {
+                final var port = context.getEnvironment().getRequiredProperty("local.server.port");
+                run(settings, "http://localhost:" + port + "/api");
+            }
+        }
+    }
+
+    private static Map<String, Object> serviceProperties(
+            String mongoUri, GenericContainer<?> redis) {
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.data.mongodb.uri", mongoUri);
+        properties.put("spring.data.redis.host", redis.getHost());
+        properties.put("spring.data.redis.port", redis.getMappedPort(6379));
+        properties.put(
+                "SPOTS_SECRET",
+                Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded()));
+        properties.put("OPENNODE_API_KEY", UUID.randomUUID().toString());
+        properties.put("server.port", 0);
+        properties.put("management.server.port", -1);
+        // The default security DEBUG logging would dominate the profile.
+        properties.put("logging.level.org.springframework.security", "INFO");
+        return properties;
+    }
+
+    private static void run(LoadTestSettings settings, String baseUrl) throws Exception {
+        final var httpClient =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+        final var objectMapper = new ObjectMapper();
+        checkSeededLogin(httpClient, objectMapper, baseUrl);
+        final var report = new LatencyReport();
+        final var nextUser = new AtomicLong();
+        final Set<Long> rolledUsers = ConcurrentHashMap.newKeySet();
+        final Map<Long, Set<Long>> conquered = new ConcurrentHashMap<>();
+
+        final long begin = System.nanoTime();
+        final long measureFrom = begin + settings.warmup.toNanos();
+        final long deadline = measureFrom + settings.duration.toNanos();
+        report.startMeasuring(measureFrom);
+        report.stopMeasuring(deadline);
+        final var executor = Executors.newFixedThreadPool(settings.concurrency);
+        for (int i = 0; i < settings.concurrency; i++) {
+            executor.execute(
+                    new VirtualUser(
+                            httpClient,
+                            objectMapper,
+                            baseUrl,
+                            settings,
+                            report,
+                            nextUser,
+                            rolledUsers,
+                            conquered,
+                            settings.seed + i,
+                            deadline));
+        }
+        System.out.printf(
+                "Warming up for %s, then measuring for %s with %d clients%n",
+                settings.warmup, settings.duration, settings.concurrency);
+        executor.shutdown();
+        final long timeout = deadline - System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        if (!executor.awaitTermination(timeout, TimeUnit.NANOSECONDS)) {
+            executor.shutdownNow();
+        }
+
+        final long measured = settings.duration.toNanos();
+        report.print(measured);
+        final var reportPath = Path.of(settings.report);
+        report.write(reportPath, measured, settings);
+        System.out.println("Results written to " + reportPath.toAbsolutePath());
+    }
+
+    /** Fails fast unless the service can log in a seeded user, i.e. reads the seeded database. */
+    private static void checkSeededLogin(
+            HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) throws Exception {
+        final var body =
+                objectMapper.writeValueAsBytes(
+                        Map.of("email", SeedData.email(1), "password", SeedData.PASSWORD));
+        final var response =
+                httpClient.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                                .timeout(Duration.ofSeconds(30))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(
+                    "Seeded user "
+                            + SeedData.email(1)
+                            + " could not log in ("
+                            + response.statusCode()
+                            + "): "
+                            + response.body());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.spots.loadtest;
+
+import java.time.Duration;
+
+/** Load test knobs, read from {@code loadtest.*} system properties. */
+final class LoadTestSettings {
+    final int users = intProperty("loadtest.users", 5_000);
+    final int spots = intProperty("loadtest.spots", 2_000);
+    final int reviewsPerSpot = intProperty("loadtest.reviews-per-spot", 10);
+    final int concurrency = intProperty("loadtest.concurrency", 64);
+    final int requestsPerSession = intProperty("loadtest.requests-per-session", 20);
+    final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT30S"));
+    final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT2M"));
+    final long seed = Long.getLong("loadtest.seed", 42L);
+    final String profiles = System.getProperty("loadtest.profiles", "");
+    final String report = System.getProperty("loadtest.report", "loadtest-results.json");
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger(name, defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "users=%d spots=%d reviewsPerSpot=%d concurrency=%d requestsPerSession=%d"
+                        + " warmup=%s duration=%s seed=%d profiles=%s",
+                users,
+                spots,
+                reviewsPerSpot,
+                concurrency,
+                requestsPerSession,
+                warmup,
+                duration,
+                seed,
+                profiles.isEmpty() ? "default" : profiles);
+    }
+}
@@ -0,0 +1,134 @@
+package com.spots.loadtest;
+
+import com.mongodb.client.MongoClients;
+import com.spots.domain.DatabaseSequence;
+import com.spots.domain.Location;
+import com.spots.domain.Review;
+import com.spots.domain.Role;
+import com.spots.domain.Spot;
+import com.spots.domain.User;
+import com.spots.domain.UserInfo;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Writes a deterministic data set straight into Mongo before the service starts, so the id and
+ * geo indexes load it on startup like they would in production. The same seed always produces
+ * the same users, spots and reviews.
+ */
+final class SeedData {
+    static final String PASSWORD = "loadtest1";
+    private static final int BATCH_SIZE = 1_000;
+    // Bulgaria's bounding box, where the real catalog lives.
+    private static final double MIN_LATITUDE = 41.24;
+    private static final double MAX_LATITUDE = 44.21;
+    private static final double MIN_LONGITUDE = 22.36;
+    private static final double MAX_LONGITUDE = 28.61;
+
+    private SeedData() {}
+
+    static String email(long userId) {
+        return "user" + userId + "@loadtest.spots";
+    }
+
+    static void seed(String mongoUri, LoadTestSettings settings) {
+        final var random = new Random(settings.seed);
+        try (var client = MongoClients.create(mongoUri)) {
+            final var mongoTemplate = new MongoTemplate(client, "spots");
+            seedUsers(mongoTemplate, settings.users);
+            seedSpotsAndReviews(mongoTemplate, settings, random);
+        }
+    }
+
+    private static void seedUsers(MongoTemplate mongoTemplate, int count) {
+        // One hash for everybody: BCrypt is deliberately slow and the value is the same anyway.
+        final var passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        final List<User> batch = new ArrayList<>(BATCH_SIZE);
+        for (long userId = 1; userId <= count; userId++) {
+            batch.add(
+                    User.builder()
+                            .id(userId)
+                            .role(Role.USER)
+                            .username("user" + userId)
+                            .email(email(userId))
+                            .password(passwordHash)
+                            .emailVerified(true)
+                            .conqueredSpots(new LinkedHashSet<>())
+                            .build());
+            flushIfFull(mongoTemplate, batch, User.class);
+        }
+        flush(mongoTemplate, batch, User.class);
+        mongoTemplate.save(new DatabaseSequence(User.SEQUENCE_NAME, count + 1L));
+    }
+
+    private static void seedSpotsAndReviews(
+            MongoTemplate mongoTemplate, LoadTestSettings settings, Random random) {
+        final List<Spot> spots = new ArrayList<>(BATCH_SIZE);
+        final List<Review> reviews = new ArrayList<>(BATCH_SIZE);
+        long reviewId = 0;
+        for (long spotId = 1; spotId <= settings.spots; spotId++) {
+            double ratingSum = 0;
+            for (int i = 0; i < settings.reviewsPerSpot; i++) {
+                final long userId = 1 + random.nextInt(settings.users);
+                final int rating = 1 + random.nextInt(10);
+                ratingSum += rating;
+                reviews.add(
+                        Review.builder()
+                                .id(++reviewId)
+                                .spotId(spotId)
+                                .rating(rating)
+                                .comment("Seeded review " + reviewId + " of spot " + spotId)
+                                .userInfo(
+                                        UserInfo.builder()
+                                                .userId(userId)
+                                                .username("user" + userId)
+                                                .build())
+                                .build());
+                flushIfFull(mongoTemplate, reviews, Review.class);
+            }
+            final double latitude =
+                    MIN_LATITUDE + random.nextDouble() * (MAX_LATITUDE - MIN_LATITUDE);
+            final double longitude =
+                    MIN_LONGITUDE + random.nextDouble() * (MAX_LONGITUDE - MIN_LONGITUDE);
+            final long ratingCount = settings.reviewsPerSpot;
+            spots.add(
+                    Spot.builder()
+                            .id(spotId)
+                            .name("Load test spot " + spotId)
+                            .description("Seeded spot " + spotId + " for load testing")
+                            .location(
+                                    Location.builder()
+                                            .latitude((float) latitude)
+                                            .longitude((float) longitude)
+                                            .build())
+                            .position(new GeoJsonPoint(longitude, latitude))
+                            .ratingSum(ratingSum)
+                            .ratingCount(ratingCount)
+                            .overallRating(ratingCount == 0 ? 1 : (float) (ratingSum / ratingCount))
+                            .build());
+            flushIfFull(mongoTemplate, spots, Spot.class);
+        }
+        flush(mongoTemplate, spots, Spot.class);
+        flush(mongoTemplate, reviews, Review.class);
+        mongoTemplate.save(new DatabaseSequence(Spot.SEQUENCE_NAME, settings.spots + 1L));
+        mongoTemplate.save(new DatabaseSequence(Review.SEQUENCE_NAME, reviewId + 1));
+    }
+
+    private static <T> void flushIfFull(MongoTemplate mongoTemplate, List<T> batch, Class<T> type) {
+        if (batch.size() == BATCH_SIZE) {
+            flush(mongoTemplate, batch, type);
+        }
+    }
+
+    private static <T> void flush(MongoTemplate mongoTemplate, List<T> batch, Class<T> type) {
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, type);
+            batch.clear();
+        }
+    }
+}
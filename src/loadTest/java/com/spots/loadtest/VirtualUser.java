@@ -0,0 +1,161 @@
+package com.spots.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One closed-loop client. Each session logs in as the next seeded user, rolls a random spot the
+ * first time that user is seen (rolls are limited to one a week), then sends a weighted mix of
+ * catalog reads, review writes and conquers before moving on to another user.
+ *
+ * <p>Mix per session request: 40% spot pages, 20% single spots, 20% review pages, 10% new
+ * reviews, 10% conquers.
+ */
+final class VirtualUser implements Runnable {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final LatencyReport report;
+    private final AtomicLong nextUser;
+    private final Set<Long> rolledUsers;
+    private final Map<Long, Set<Long>> conquered;
+    private final Random random;
+    private final long deadline;
+
+    VirtualUser(
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            String baseUrl,
+            LoadTestSettings settings,
+            LatencyReport report,
+            AtomicLong nextUser,
+            Set<Long> rolledUsers,
+            Map<Long, Set<Long>> conquered,
+            long seed,
+            long deadline) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.report = report;
+        this.nextUser = nextUser;
+        this.rolledUsers = rolledUsers;
+        this.conquered = conquered;
+        this.random = new Random(seed);
+        this.deadline = deadline;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            final long userId = 1 + Math.floorMod(nextUser.getAndIncrement(), settings.users);
+            final var token = login(userId);
+            if (token == null) {
+                continue;
+            }
+            if (rolledUsers.add(userId)) {
+                send("GET /spots/random", get("/spots/random", token));
+            }
+            for (int i = 0; i < settings.requestsPerSession && System.nanoTime() < deadline; i++) {
+                nextRequest(userId, token);
+            }
+        }
+    }
+
+    private String login(long userId) {
+        final var body = Map.of("email", SeedData.email(userId), "password", SeedData.PASSWORD);
+        final var response = send("POST /auth/login", post("/auth/login", null, body));
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body()).get("accessToken").asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void nextRequest(long userId, String token) {
+        final long spotId = 1 + random.nextInt(settings.spots);
+        final int dice = random.nextInt(100);
+        if (dice < 40) {
+            send("GET /spots", get("/spots?limit=20", token));
+        } else if (dice < 60) {
+            send("GET /spots/{id}", get("/spots/" + spotId, token));
+        } else if (dice < 80) {
+            send("GET /spots/{id}/reviews", get("/spots/" + spotId + "/reviews", token));
+        } else if (dice < 90) {
+            final var review =
+                    Map.of("rating", 1 + random.nextInt(10), "comment", "Load test review");
+            send(
+                    "POST /spots/{id}/reviews",
+                    post("/spots/" + spotId + "/reviews", token, review));
+        } else {
+            // Conquering the same spot twice is a 409, so only spots this user has not taken yet.
+            final var taken =
+                    conquered.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+            if (taken.add(spotId)) {
+                send(
+                        "POST /users/{email}/conquered",
+                        post(
+                                "/users/" + SeedData.email(userId) + "/conquered",
+                                token,
+                                Map.of("spotId", spotId)));
+            }
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        final byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not serialize request body", e);
+        }
+        final var request =
+                HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    private HttpResponse<byte[]> send(String endpoint, HttpRequest request) {
+        final long start = System.nanoTime();
+        try {
+            final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            report.record(endpoint, start, System.nanoTime(), response.statusCode() / 100 == 2);
+            return response;
+        } catch (IOException e) {
+            report.record(endpoint, start, System.nanoTime(), false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.spots.common;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class of the expected business outcomes a request can end in, such as a missing spot or
+ * bad input. {@code GlobalExceptionHandler} turns them into an {@code ApiError} with {@link
+ * #getStatus()}.
+ *
+ * <p>These exceptions are control flow, not faults: they capture no stack trace and take no
+ * suppressed exceptions. That makes them cheap to throw on hot paths and immutable, so a
+ * constant-message instance can be allocated once and thrown repeatedly. Outcomes caused by a
+ * failed remote call keep that failure as their cause.
+ */
+@Getter
+public abstract class ApiException extends RuntimeException {
+    private final HttpStatus status;
+
+    protected ApiException(HttpStatus status, String message) {
+        this(status, message, null);
+    }
+
+    protected ApiException(HttpStatus status, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.status = status;
+    }
+}
@@ -0,0 +1,25 @@
+package com.spots.common;
+
+import com.spots.service.auth.InvalidInputException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** Encodes the last seen id of a keyset page as an opaque cursor token. */
+public final class Cursors {
+    private Cursors() {}
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long decode(String cursor) {
+        try {
+            return Long.parseLong(
+                    new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Invalid cursor!");
+        }
+    }
+}
@@ -2,29 +2,36 @@ package com.spots.common;
 
 import com.spots.service.auth.InvalidInputException;
 import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validation;
 import jakarta.validation.Validator;
-import jakarta.validation.ValidatorFactory;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
+import java.util.StringJoiner;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
 
-public class GenericValidator<T> {
+/**
+ * Bean validation for the services, backed by the application's single {@link Validator}. The
+ * validator is thread-safe and caches the constraint metadata of each class after first use, so
+ * validating a valid object only walks its constraints and allocates nothing else.
+ */
+@Component
+@RequiredArgsConstructor
+public class GenericValidator {
     private final Logger logger = LoggerFactory.getLogger(GenericValidator.class);
-    private final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-    private final Validator validator = factory.getValidator();
+    private final Validator validator;
 
-    public void validate(T entity) {
-        Set<ConstraintViolation<T>> violations = validator.validate(entity);
-        List<String> violationsMsg = new ArrayList<>();
-        for (ConstraintViolation<T> violation : violations) {
-            violationsMsg.add(violation.getMessage());
-            logger.error(violation.getMessage());
+    public <T> void validate(T entity) {
+        final Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (violations.isEmpty()) {
+            return;
         }
-        if (!violationsMsg.isEmpty()) {
-            throw new InvalidInputException(violationsMsg.toString());
+        final var messages = new StringJoiner(", ", "[", "]");
+        for (ConstraintViolation<T> violation : violations) {
+            messages.add(violation.getMessage());
         }
+        // Bad client input, not a server fault.
+        logger.debug("Rejected {}: {}", entity.getClass().getSimpleName(), messages);
+        throw new InvalidInputException(messages.toString());
     }
 }
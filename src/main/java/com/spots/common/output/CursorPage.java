@@ -0,0 +1,15 @@
+package com.spots.common.output;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/** One keyset page; {@code nextCursor} is null on the last page. */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<T> items;
+    private String nextCursor;
+}
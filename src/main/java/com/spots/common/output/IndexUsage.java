@@ -0,0 +1,22 @@
+package com.spots.common.output;
+
+import java.util.Date;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class IndexUsage {
+    private String collection;
+    private String name;
+    private Map<String, Object> key;
+
+    /** Whether the index is declared on the mapped document class. */
+    private boolean declared;
+
+    /** Operations that used the index since {@link #since}, as reported by {@code $indexStats}. */
+    private long ops;
+
+    private Date since;
+}
@@ -0,0 +1,12 @@
+package com.spots.common.output;
+
+import com.spots.domain.Spot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class NearbySpot {
+    private Spot spot;
+    private double distanceKm;
+}
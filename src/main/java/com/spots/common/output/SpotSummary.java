@@ -0,0 +1,26 @@
+package com.spots.common.output;
+
+import com.spots.domain.Location;
+import com.spots.domain.Spot;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SpotSummary {
+    private long id;
+    private String name;
+    private Location location;
+    private String imageName;
+    private float overallRating;
+
+    public static SpotSummary fromSpot(Spot spot) {
+        return SpotSummary.builder()
+                .id(spot.getId())
+                .name(spot.getName())
+                .location(spot.getLocation())
+                .imageName(spot.getImageName())
+                .overallRating(spot.getOverallRating())
+                .build();
+    }
+}
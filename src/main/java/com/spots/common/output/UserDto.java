@@ -3,7 +3,7 @@ package com.spots.common.output;
 import com.spots.domain.Role;
 import com.spots.domain.User;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Data;
 
@@ -16,7 +16,7 @@ public class UserDto {
     private String imageName;
     private LocalDateTime nextRandomSpotGeneratedTime;
     private long currentSpotId;
-    private List<Long> conqueredSpots;
+    private Set<Long> conqueredSpots;
     private String email;
     private String password;
     private boolean emailVerified;
@@ -1,7 +1,10 @@
 package com.spots.config;
 
-public class InvalidJwtTokenException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidJwtTokenException extends ApiException {
     public InvalidJwtTokenException(String message) {
-        super(message);
+        super(HttpStatus.UNAUTHORIZED, message);
     }
 }
@@ -1,25 +1,45 @@
 package com.spots.config;
 
-import com.spots.repository.UserRepository;
+import com.spots.common.ApiException;
+import com.spots.domain.User;
+import com.spots.service.auth.AuthenticatedUserCache;
 import com.spots.service.auth.JwtService;
+import com.spots.service.auth.TokenRevocationStore;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    /**
+     * Rejected tokens are handed to {@code handlerExceptionResolver}, so they get the same error
+     * body from {@code GlobalExceptionHandler} as errors raised inside controllers.
+     */
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            TokenRevocationStore tokenRevocationStore,
+            AuthenticatedUserCache authenticatedUserCache,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        this.jwtService = jwtService;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.authenticatedUserCache = authenticatedUserCache;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -36,17 +56,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         jwt = authHeader.substring(7);
 
-        if (!jwtService.isTokenValid(jwt, request.getRemoteAddr())) {
-            throw new InvalidJwtTokenException("Invalid jwt token");
+        final User user;
+        try {
+            user = authenticate(jwt);
+        } catch (ApiException e) {
+            handlerExceptionResolver.resolveException(request, response, null, e);
+            return;
         }
-        final var user =
-                userRepository
-                        .findUserByEmail(jwtService.extractEmail(jwt))
-                        .orElseThrow(() -> new InvalidJwtTokenException("Invalid jwt token"));
 
         UsernamePasswordAuthenticationToken authToken =
                 new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authToken);
         filterChain.doFilter(request, response);
     }
+
+    private User authenticate(String jwt) {
+        final var token = jwtService.verify(jwt);
+        if (tokenRevocationStore.isRevoked(token)) {
+            throw new InvalidJwtTokenException("Invalid jwt token");
+        }
+        return authenticatedUserCache
+                .get(token.getSubject())
+                .orElseThrow(() -> new InvalidJwtTokenException("Invalid jwt token"));
+    }
 }
@@ -0,0 +1,27 @@
+package com.spots.config;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Mongo driver instrumentation. {@link MongoConfig} builds its own client, so Boot's Mongo metrics
+ * auto-configuration never sees it; these listeners are registered there instead. Endpoint, Redis,
+ * outbound HTTP and repository metrics come from Boot's auto-configuration.
+ */
+@Configuration
+class MetricsConfig {
+
+    @Bean
+    CommandListener mongoCommandMetrics(MeterRegistry meterRegistry) {
+        return new MongoCommandMetrics(meterRegistry);
+    }
+
+    @Bean
+    ConnectionPoolListener mongoConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        return new MongoMetricsConnectionPoolListener(meterRegistry);
+    }
+}
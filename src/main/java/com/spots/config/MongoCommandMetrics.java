@@ -0,0 +1,60 @@
+package com.spots.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every Mongo command as {@code mongodb.commands{command, status}}.
+ *
+ * <p>Timers are created once per command name and looked up by the driver's interned name
+ * afterwards, so recording a command allocates nothing. Per-method timings come from Spring Data's
+ * {@code spring.data.repository.invocations}.
+ */
+final class MongoCommandMetrics implements CommandListener {
+    private static final List<String> COMMON_COMMANDS =
+            List.of("find", "getMore", "insert", "update", "delete", "findAndModify", "aggregate");
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> succeeded = new ConcurrentHashMap<>();
+    private final Map<String, Timer> failed = new ConcurrentHashMap<>();
+
+    MongoCommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (String command : COMMON_COMMANDS) {
+            timer(succeeded, command, "success");
+            timer(failed, command, "failure");
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        timer(succeeded, event.getCommandName(), "success")
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        timer(failed, event.getCommandName(), "failure")
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(Map<String, Timer> timers, String command, String status) {
+        final var timer = timers.get(command);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(
+                command,
+                name ->
+                        Timer.builder("mongodb.commands")
+                                .tag("command", name)
+                                .tag("status", status)
+                                .register(meterRegistry));
+    }
+}
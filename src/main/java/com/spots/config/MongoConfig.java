@@ -1,5 +1,12 @@
 package com.spots.config;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.ConnectionPoolListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
@@ -9,15 +16,43 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
 
 @Configuration
 @EnableMongoRepositories(basePackages = "com.spots.repository")
+@RequiredArgsConstructor
 public class MongoConfig extends AbstractMongoClientConfiguration {
+    private final ObjectProvider<CommandListener> commandListeners;
+    private final ObjectProvider<ConnectionPoolListener> connectionPoolListeners;
+
+    @Value("${spring.data.mongodb.uri:mongodb://localhost:27017/spots}")
+    private String uri;
+
+    @Value("${application.mongo.max-pool-size:100}")
+    private int maxPoolSize;
 
     @Bean
     MongoTransactionManager transactionManager(MongoDatabaseFactory dbFactory) {
         return new MongoTransactionManager(dbFactory);
     }
 
+    @Override
+    protected void configureClientSettings(MongoClientSettings.Builder builder) {
+        // Boot does not build this client, so its spring.data.mongodb.uri is applied here.
+        builder.applyConnectionString(new ConnectionString(uri));
+        builder.applyToConnectionPoolSettings(
+                pool -> {
+                    pool.maxSize(maxPoolSize);
+                    connectionPoolListeners.orderedStream().forEach(pool::addConnectionPoolListener);
+                });
+        commandListeners.orderedStream().forEach(builder::addCommandListener);
+    }
+
     @Override
     protected String getDatabaseName() {
-        return "spots";
+        final var database = new ConnectionString(uri).getDatabase();
+        return database == null ? "spots" : database;
+    }
+
+    @Override
+    protected boolean autoIndexCreation() {
+        // MongoIndexService creates and verifies the declared indexes once at startup.
+        return false;
     }
 }
@@ -0,0 +1,46 @@
+package com.spots.config;
+
+import com.spots.service.auth.AuthenticatedUserCache;
+import com.spots.service.auth.TokenRevocationStore;
+import com.spots.service.spots.SpotCatalogCache;
+import com.spots.service.spots.SpotChangeBroadcaster;
+import java.nio.charset.StandardCharsets;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TokenRevocationStore tokenRevocationStore,
+            AuthenticatedUserCache authenticatedUserCache,
+            SpotCatalogCache spotCatalogCache,
+            SpotChangeBroadcaster spotChangeBroadcaster) {
+        final var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) ->
+                        tokenRevocationStore.onRevoked(
+                                new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TokenRevocationStore.CHANNEL));
+        container.addMessageListener(
+                (message, pattern) ->
+                        authenticatedUserCache.onInvalidated(
+                                new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(AuthenticatedUserCache.CHANNEL));
+        container.addMessageListener(
+                (message, pattern) ->
+                        spotCatalogCache.onInvalidated(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(SpotCatalogCache.CHANNEL));
+        container.addMessageListener(
+                (message, pattern) ->
+                        spotChangeBroadcaster.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(SpotChangeBroadcaster.CHANNEL));
+        return container;
+    }
+}
@@ -1,5 +1,7 @@
 package com.spots.config;
 
+import com.spots.domain.Role;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,7 +28,10 @@ public class SecurityConfiguration {
         "/swagger-ui/index.html",
         "/swagger-ui/**",
         "/v3/api-docs/**",
-        "/images/**"
+        "/images/**",
+        "/payments/callback",
+        "/actuator/health/**",
+        "/actuator/prometheus"
     };
 
     @Bean
@@ -35,7 +40,18 @@ public class SecurityConfiguration {
                 .sessionManagement(
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(
-                        authz -> authz.requestMatchers(ALLOWED_PATHS).permitAll().anyRequest().authenticated())
+                        authz ->
+                                authz
+                                        // Async dispatches deliver the result of a request that was
+                                        // already authorized; the JWT filter does not run on them.
+                                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                                        .permitAll()
+                                        .requestMatchers(ALLOWED_PATHS)
+                                        .permitAll()
+                                        .requestMatchers("/admin/**")
+                                        .hasRole(Role.ADMIN.name())
+                                        .anyRequest()
+                                        .authenticated())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
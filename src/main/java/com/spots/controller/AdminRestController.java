@@ -0,0 +1,30 @@
+package com.spots.controller;
+
+import com.spots.common.output.IndexUsage;
+import com.spots.service.admin.MongoIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+class AdminRestController {
+    private final MongoIndexService mongoIndexService;
+
+    @GetMapping("/indexes")
+    @Operation(
+            summary = "Get Mongo index usage",
+            description =
+                    "Lists the indexes of every mapped collection with their $indexStats usage counters"
+                            + " and whether each one is declared in code.")
+    public ResponseEntity<List<IndexUsage>> getIndexes() {
+        return ResponseEntity.ok(mongoIndexService.getIndexUsage());
+    }
+}
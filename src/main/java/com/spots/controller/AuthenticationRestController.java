@@ -2,19 +2,10 @@ package com.spots.controller;
 
 import com.spots.common.input.LoginBody;
 import com.spots.common.input.RegisterBody;
-import com.spots.common.output.ApiError;
 import com.spots.common.output.ApiSuccess;
 import com.spots.service.auth.AuthenticationService;
-import com.spots.service.auth.EmailTakenException;
-import com.spots.service.auth.InvalidAccessTokenException;
-import com.spots.service.auth.InvalidInputException;
-import com.spots.service.auth.InvalidLoginCredenials;
-import com.spots.service.auth.UserAlreadyExistsException;
-import jakarta.mail.MessagingException;
 import jakarta.servlet.http.HttpServletRequest;
-import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -35,21 +26,10 @@ public class AuthenticationRestController {
       * @return
       */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterBody body, HttpServletRequest request)
-            throws MessagingException {
-        try {
-            authService.register(body.toBuilder().ip(request.getRemoteAddr()).build());
-            ApiSuccess successResponse = new ApiSuccess("register", "Registered successfully!");
-            return ResponseEntity.ok(successResponse);
-        } catch (EmailTakenException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> register(@RequestBody RegisterBody body, HttpServletRequest request) {
+        authService.register(body.toBuilder().ip(request.getRemoteAddr()).build());
+        ApiSuccess successResponse = new ApiSuccess("register", "Registered successfully!");
+        return ResponseEntity.ok(successResponse);
     }
 
     /**
@@ -61,18 +41,8 @@ public class AuthenticationRestController {
       */
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginBody body, HttpServletRequest request) {
-        try {
-            return ResponseEntity.ok(
-                    authService.login(body.toBuilder().ip(request.getRemoteAddr()).build()));
-        } catch (InvalidLoginCredenials e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+        return ResponseEntity.ok(
+                authService.login(body.toBuilder().ip(request.getRemoteAddr()).build()));
     }
 
     /**
@@ -90,39 +60,17 @@ public class AuthenticationRestController {
     }
 
     @PostMapping("/login/google")
-    public ResponseEntity<?> loginWithGoogle(
-            @RequestBody String accessToken, HttpServletRequest request) {
-        try {
-            return ResponseEntity.ok(authService.loginWithGoogle(accessToken));
-        } catch (UserAlreadyExistsException | InvalidAccessTokenException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> loginWithGoogle(@RequestBody String accessToken) {
+        return ResponseEntity.ok(authService.loginWithGoogle(accessToken));
     }
 
     @PostMapping("/login/facebook")
-    public ResponseEntity<?> loginWithFacebook(
-            @RequestBody String accessToken, HttpServletRequest request) {
-        try {
-            return ResponseEntity.ok(authService.loginWithFacebook(accessToken));
-        } catch (UserAlreadyExistsException | InvalidAccessTokenException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> loginWithFacebook(@RequestBody String accessToken) {
+        return ResponseEntity.ok(authService.loginWithFacebook(accessToken));
     }
 
     @PostMapping("/verify")
-    public ResponseEntity<?> verifyUserEmail(@RequestBody String code, HttpServletRequest request) {
+    public ResponseEntity<?> verifyUserEmail(@RequestBody String code) {
         authService.verifyEmail(code);
         ApiSuccess successResponse = new ApiSuccess("verify email", "Verified email successfully!");
         return ResponseEntity.ok(successResponse);
@@ -1,23 +1,70 @@
 package com.spots.controller;
 
+import com.spots.common.ApiException;
 import com.spots.common.output.ApiError;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+/**
+ * The single place errors become responses. Controllers let exceptions propagate; every error
+ * body is an {@link ApiError} carrying the response status.
+ */
 @ControllerAdvice
 class GlobalExceptionHandler {
+    private final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    /** Expected business outcomes; each exception type carries its own status. */
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<ApiError> handleApiException(
+            ApiException ex, HttpServletRequest request) {
+        return error(ex.getStatus(), ex.getMessage(), request);
+    }
+
+    @ExceptionHandler({HttpMessageNotReadableException.class, TypeMismatchException.class})
+    public ResponseEntity<ApiError> handleMalformedRequest(Exception ex, HttpServletRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Malformed request", request);
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ApiError> handleAuthenticationException(
+            AuthenticationException ex, HttpServletRequest request) {
+        return error(HttpStatus.UNAUTHORIZED, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiError> handleAccessDenied(
+            AccessDeniedException ex, HttpServletRequest request) {
+        return error(HttpStatus.FORBIDDEN, ex.getMessage(), request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleOtherExceptions(Exception ex, HttpServletRequest request) {
+        // Spring MVC's own exceptions (missing parameter, unsupported method, ...) know their status.
+        if (ex instanceof ErrorResponse errorResponse) {
+            final var detail = errorResponse.getBody().getDetail();
+            return error(
+                    errorResponse.getStatusCode(), detail != null ? detail : ex.getMessage(), request);
+        }
+        logger.error("Unhandled exception on {}", request.getRequestURI(), ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), request);
+    }
+
+    private static ResponseEntity<ApiError> error(
+            HttpStatusCode status, String message, HttpServletRequest request) {
         final var error =
-                new ApiError(
-                        LocalDateTime.now(),
-                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                        ex.getMessage(),
-                        request.getRequestURI());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+                new ApiError(LocalDateTime.now(), status.value(), message, request.getRequestURI());
+        return ResponseEntity.status(status).body(error);
     }
 }
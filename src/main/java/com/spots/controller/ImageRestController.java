@@ -0,0 +1,202 @@
+package com.spots.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spots.service.image.ImageFormat;
+import com.spots.service.image.ImageStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Serves stored images with validators and caching headers.
+ *
+ * <p>Content-addressed names never change content, so they get a strong ETag from the hash and a
+ * year-long immutable {@code Cache-Control}. Bodies go out through Tomcat's sendfile when the
+ * connector supports it and through {@link FileChannel#transferTo} otherwise; small thumbnails are
+ * served from a bounded in-memory LRU.
+ */
+@RestController
+@RequestMapping("/images")
+@RequiredArgsConstructor
+public class ImageRestController {
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+    private static final Pattern FINGERPRINTED = Pattern.compile("([0-9a-f]{64}(?:_\\d+)?)\\.[a-z]+");
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d{0,18})-(\\d{0,18})");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "public, max-age=3600";
+    private static final long THUMBNAIL_CACHE_BYTES = 16 * 1024 * 1024;
+    private static final long MAX_CACHED_THUMBNAIL = 256 * 1024;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStorageService imageStorageService;
+    private final Cache<String, byte[]> thumbnails =
+            Caffeine.newBuilder()
+                    .maximumWeight(THUMBNAIL_CACHE_BYTES)
+                    .weigher((String name, byte[] bytes) -> bytes.length)
+                    .build();
+
+    @RequestMapping(
+            value = "/{name}",
+            method = {RequestMethod.GET, RequestMethod.HEAD})
+    @Operation(
+            summary = "Get image",
+            description =
+                    "Returns a stored image. Pass size to get a thumbnail that fits in that many pixels"
+                            + " when one exists. Supports conditional and single range requests.")
+    public void getImage(
+            @PathVariable String name,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException {
+        if (!SAFE_NAME.matcher(name).matches()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        final var root = imageStorageService.getRoot();
+        var fileName = name;
+        if (size != null
+                && FINGERPRINTED.matcher(name).matches()
+                && Arrays.stream(ImageStorageService.THUMBNAIL_SIZES).anyMatch(s -> s == size)) {
+            final var thumbnail = ImageStorageService.thumbnailName(name, size);
+            if (Files.isRegularFile(root.resolve(thumbnail))) {
+                fileName = thumbnail;
+            }
+        }
+        final var file = root.resolve(fileName);
+        final var isThumbnail = !fileName.equals(name);
+        final var fingerprint = FINGERPRINTED.matcher(fileName);
+        final var fingerprinted = fingerprint.matches();
+
+        byte[] cached = isThumbnail ? thumbnails.getIfPresent(fileName) : null;
+        final long length;
+        final String etag;
+        if (cached != null) {
+            length = cached.length;
+            etag = "\"" + fingerprint.group(1) + "\"";
+        } else {
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            length = attributes.size();
+            etag =
+                    fingerprinted
+                            ? "\"" + fingerprint.group(1) + "\""
+                            : "W/\"" + length + "-" + attributes.lastModifiedTime().toMillis() + "\"";
+        }
+
+        // A missing thumbnail falls back to the original, which must not be pinned under this URL.
+        final var immutable = fingerprinted && (size == null || isThumbnail);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(
+                ImageFormat.fromFileName(fileName)
+                        .map(ImageFormat::getMediaType)
+                        .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = length;
+        final var range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            final var matcher = BYTE_RANGE.matcher(range.trim());
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, length - Long.parseLong(matcher.group(2)));
+                } else {
+                    start = Long.parseLong(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        end = Math.min(length, Long.parseLong(matcher.group(2)) + 1);
+                    }
+                }
+                if (start >= end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(
+                        HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start);
+        if (RequestMethod.HEAD.name().equals(request.getMethod())) {
+            return;
+        }
+
+        if (cached == null && isThumbnail && length <= MAX_CACHED_THUMBNAIL) {
+            cached = Files.readAllBytes(file);
+            thumbnails.put(fileName, cached);
+        }
+        if (cached != null) {
+            response.getOutputStream().write(cached, (int) start, (int) (end - start));
+        } else if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+        } else {
+            transfer(file, start, end, response);
+        }
+    }
+
+    private static void transfer(Path file, long start, long end, HttpServletResponse response)
+            throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        final var opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            final var trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeak(trimmed).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** If-Range needs a strong match; a date or weak validator means the whole file is sent. */
+    private static boolean ifRangeMatches(String ifRange, String etag) {
+        return ifRange == null || (!etag.startsWith("W/") && ifRange.trim().equals(etag));
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
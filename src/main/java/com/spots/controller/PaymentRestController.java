@@ -1,20 +1,22 @@
 package com.spots.controller;
 
 import com.spots.common.input.InitiatePaymentBody;
+import com.spots.common.input.PaymentCallbackBody;
 import com.spots.domain.Payment;
 import com.spots.service.payment.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/payments")
@@ -25,20 +27,28 @@ class PaymentRestController {
 
     @PostMapping("/initiate")
     @Operation(summary = "Initiate payment.", description = "Initiate payment.")
-    public ResponseEntity<?> initiatePayment(
-            @RequestBody InitiatePaymentBody initiatePaymentBody, HttpServletRequest request) {
-        final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        var jwt = authHeader.substring(7);
-        final var paymentId =
-                paymentService.initiatePayment(
-                        initiatePaymentBody.getAmount(), initiatePaymentBody.isAd(), jwt);
-        return ResponseEntity.ok(paymentId);
+    public Mono<ResponseEntity<Long>> initiatePayment(
+            @RequestBody InitiatePaymentBody initiatePaymentBody, Authentication authentication) {
+        return paymentService
+                .initiatePayment(
+                        initiatePaymentBody.getAmount(),
+                        initiatePaymentBody.isAd(),
+                        authentication.getName())
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("/{userId}")
     @Operation(summary = "Get payment by id", description = "Returns a payment.")
-    public ResponseEntity<?> getPayment(@PathVariable Long userId, HttpServletRequest request) {
-        Payment payment = paymentService.getPayment(userId);
-        return ResponseEntity.ok(payment);
+    public ResponseEntity<Payment> getPayment(@PathVariable Long userId) {
+        return ResponseEntity.ok(paymentService.getPayment(userId));
+    }
+
+    @PostMapping(value = "/callback", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(
+            summary = "OpenNode charge callback.",
+            description = "Receives signed charge status updates from OpenNode.")
+    public ResponseEntity<?> paymentCallback(PaymentCallbackBody callback) {
+        paymentService.handleCallback(callback);
+        return ResponseEntity.ok().build();
     }
 }
@@ -2,22 +2,20 @@ package com.spots.controller;
 
 import com.spots.common.input.ReviewBody;
 import com.spots.common.input.SpotDto;
-import com.spots.common.output.ApiError;
 import com.spots.common.output.ApiSuccess;
+import com.spots.common.output.CursorPage;
 import com.spots.domain.Spot;
-import com.spots.service.auth.InvalidInputException;
 import com.spots.service.spots.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.servlet.http.HttpServletRequest;
-import java.time.LocalDateTime;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.NotImplementedException;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/spots")
@@ -27,97 +25,98 @@ class SpotsRestController {
     private final SpotsService spotsService;
 
     @GetMapping
-    @Operation(summary = "Get all existing spots", description = "Returns a list of spots entity.")
-    public ResponseEntity<?> getSpots(HttpServletRequest request) {
-        List<Spot> spots = spotsService.getSpots();
-        return ResponseEntity.ok(spots);
+    @Operation(
+            summary = "Get a page of spots",
+            description =
+                    "Returns spots ordered by id. Pass the X-Next-Cursor response header back as cursor"
+                            + " to get the next page; the header is absent on the last page.")
+    public ResponseEntity<?> getSpots(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        final var page = spotsService.getSpots(cursor, limit);
+        final var response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream all spots",
+            description = "Streams every spot as newline delimited JSON.")
+    public ResponseEntity<StreamingResponseBody> streamSpots() {
+        StreamingResponseBody body = spotsService::streamSpots;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{spotId}")
     @Operation(summary = "Get spot by id", description = "Returns a list of spots entity.")
-    public ResponseEntity<?> getSpot(@PathVariable Long spotId, HttpServletRequest request) {
+    public ResponseEntity<?> getSpot(@PathVariable Long spotId) {
         Spot spot = spotsService.getSpot(spotId);
         return ResponseEntity.ok(spot);
     }
 
+    @GetMapping("/nearby")
+    @Operation(
+            summary = "Get spots near a point",
+            description =
+                    "Returns spots nearest first. Without radiusKm the limit nearest spots are returned.")
+    public ResponseEntity<?> getNearbySpots(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(spotsService.getNearbySpots(lat, lon, radiusKm, limit));
+    }
+
     @GetMapping("/random")
     @Operation(summary = "Get random spot", description = "Returns a random spot from db.")
-    public ResponseEntity<?> getRandomSpot(HttpServletRequest request) {
-        final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        Spot spot = spotsService.getRandomSpot(authHeader);
+    public ResponseEntity<?> getRandomSpot(Authentication authentication) {
+        Spot spot = spotsService.getRandomSpot(authentication.getName());
         return ResponseEntity.ok(spot);
     }
 
     @PostMapping
     @Operation(summary = "Adds a new spot", description = "Adds new spot entity.")
-    public ResponseEntity<?> addSpot(@RequestBody SpotDto spotDto, HttpServletRequest request) {
-        try {
-            spotsService.createSpot(spotDto);
-            ApiSuccess successResponse = new ApiSuccess("addSpot", "Spot added successfully!");
-            return ResponseEntity.ok(successResponse);
-        } catch (InvalidSpotNameException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> addSpot(@RequestBody SpotDto spotDto) {
+        spotsService.createSpot(spotDto);
+        ApiSuccess successResponse = new ApiSuccess("addSpot", "Spot added successfully!");
+        return ResponseEntity.ok(successResponse);
     }
 
     @PutMapping
     @Operation(summary = "Updates spot information", description = "Updates spot entity information.")
-    public ResponseEntity<?> updateSpot(@RequestBody SpotDto spotDto, HttpServletRequest request) {
-        try {
-            spotsService.updateSpot(spotDto);
-            ApiSuccess successResponse = new ApiSuccess("updateSpot", "Spot updated successfully!");
-            return ResponseEntity.ok(successResponse);
-        } catch (InvalidSpotIdException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> updateSpot(@RequestBody SpotDto spotDto) {
+        spotsService.updateSpot(spotDto);
+        ApiSuccess successResponse = new ApiSuccess("updateSpot", "Spot updated successfully!");
+        return ResponseEntity.ok(successResponse);
     }
 
     @DeleteMapping("/{spotId}")
     @Operation(summary = "Deletes spot", description = "Deletes specific spot by id.")
-    public ResponseEntity<?> deleteSpot(@PathVariable Long spotId, HttpServletRequest request) {
-        try {
-            spotsService.deleteSpot(spotId);
-            ApiSuccess successResponse = new ApiSuccess("deleteSpot", "Spot deleted successfully!");
-            return ResponseEntity.ok(successResponse);
-        } catch (InvalidSpotIdException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> deleteSpot(@PathVariable Long spotId) {
+        spotsService.deleteSpot(spotId);
+        ApiSuccess successResponse = new ApiSuccess("deleteSpot", "Spot deleted successfully!");
+        return ResponseEntity.ok(successResponse);
     }
 
     @GetMapping("/{spotId}/reviews")
-    @Operation(summary = "Get all reviews from spot", description = "Returns a list of review")
+    @Operation(
+            summary = "Get a page of reviews from spot",
+            description =
+                    "Returns reviews newest first. Pass the X-Next-Cursor response header back as cursor"
+                            + " to get the next page; the header is absent on the last page.")
     public ResponseEntity<?> getSpotReviews(
-            @PathVariable Long spotId, @RequestParam Integer pageNum, HttpServletRequest request) {
-        try {
-            return ResponseEntity.ok(spotsService.getSpotReviews(spotId, pageNum));
-
-        } catch (NoReviewsException | InvalidSpotIdException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
+            @PathVariable Long spotId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int limit) {
+        final var page = spotsService.getSpotReviews(spotId, cursor, limit);
+        final var response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
         }
+        return response.body(page.getItems());
     }
 
     @PostMapping("/{spotId}/reviews")
@@ -125,59 +124,29 @@ class SpotsRestController {
             summary = "Adds new review to spot",
             description = "Adds new review to specific spot using spots id.")
     public ResponseEntity<?> addSpotReview(
-            @PathVariable Long spotId, @RequestBody ReviewBody review, HttpServletRequest request) {
-        try {
-            spotsService.addSpotReview(spotId, review, request.getHeader(HttpHeaders.AUTHORIZATION));
-            ApiSuccess successResponse = new ApiSuccess("addReview", "Review added for spot!");
-            return ResponseEntity.ok(successResponse);
-        } catch (InvalidSpotIdException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+            @PathVariable Long spotId,
+            @RequestBody ReviewBody review,
+            Authentication authentication) {
+        spotsService.addSpotReview(spotId, review, authentication.getName());
+        ApiSuccess successResponse = new ApiSuccess("addReview", "Review added for spot!");
+        return ResponseEntity.ok(successResponse);
     }
 
     @PutMapping("/reviews")
     @Operation(
             summary = "Updates existing review from spot",
             description = "Updates review from specific spot using spots id.")
-    public ResponseEntity<?> updateSpotReview(
-            @RequestBody ReviewBody review, HttpServletRequest request) {
-        try {
-            throw new NotImplementedException("Not implemented yet");
-        } catch (InvalidReviewIdException | InvalidSpotIdException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> updateSpotReview(@RequestBody ReviewBody review) {
+        throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, "Not implemented yet");
     }
 
     @DeleteMapping("/reviews")
     @Operation(
             summary = "Deletes review from spot",
             description = "Deletes review from specific spot using spots id and the review id.")
-    public ResponseEntity<?> deleteSpotReview(
-            @RequestParam Long reviewId, HttpServletRequest request) {
-        try {
-            spotsService.deleteSpotReview(reviewId);
-            ApiSuccess successResponse = new ApiSuccess("deleteReview", "Review deleted from spot!");
-            return ResponseEntity.ok(successResponse);
-        } catch (InvalidReviewIdException | InvalidSpotIdException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> deleteSpotReview(@RequestParam Long reviewId) {
+        spotsService.deleteSpotReview(reviewId);
+        ApiSuccess successResponse = new ApiSuccess("deleteReview", "Review deleted from spot!");
+        return ResponseEntity.ok(successResponse);
     }
 }
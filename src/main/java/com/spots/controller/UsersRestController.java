@@ -2,117 +2,119 @@ package com.spots.controller;
 
 import com.spots.common.input.ConquerBody;
 import com.spots.common.input.UserBody;
-import com.spots.common.output.ApiError;
 import com.spots.common.output.ApiSuccess;
+import com.spots.common.output.CursorPage;
 import com.spots.common.output.UserDto;
 import com.spots.domain.User;
-import com.spots.service.auth.EmailTakenException;
-import com.spots.service.auth.InvalidInputException;
-import com.spots.service.spots.SpotConqueredException;
-import com.spots.service.user.InvalidUserException;
 import com.spots.service.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.servlet.http.HttpServletRequest;
-import java.time.LocalDateTime;
+import java.io.IOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 @SecurityRequirement(name = "Bearer Authentication")
 class UsersRestController {
+    private static final String OWNER_OR_ADMIN = "#email == authentication.name or hasRole('ADMIN')";
     private final UserService userService;
 
     @GetMapping
     @Operation(summary = "Show all users", description = "Returns a list of user entity.")
-    public ResponseEntity<?> getUsers(HttpServletRequest request) {
+    public ResponseEntity<?> getUsers() {
         List<User> users = userService.getUsers();
         return ResponseEntity.ok(users);
     }
 
     @GetMapping("/{email}")
     @Operation(summary = "Get user", description = "Returns a list of user entity.")
-    public ResponseEntity<?> getUser(@PathVariable String email, HttpServletRequest request) {
+    public ResponseEntity<?> getUser(@PathVariable String email) {
         UserDto user = userService.getUser(email);
         return ResponseEntity.ok(user);
     }
 
     @PostMapping
     @Operation(summary = "Adds user", description = "Adds a new user entity.")
-    public ResponseEntity<?> addUser(@RequestBody UserBody userBody, HttpServletRequest request) {
-        try {
-            userService.createUser(userBody);
-            ApiSuccess successResponse = new ApiSuccess("addUser", "User added successfully!");
-            return ResponseEntity.ok(successResponse);
-        } catch (InvalidUserException | EmailTakenException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> addUser(@RequestBody UserBody userBody) {
+        userService.createUser(userBody);
+        ApiSuccess successResponse = new ApiSuccess("addUser", "User added successfully!");
+        return ResponseEntity.ok(successResponse);
     }
 
     @PutMapping
     @Operation(summary = "Updates user information", description = "Updates user entity.")
-    public ResponseEntity<?> updateUser(@RequestBody UserBody userBody, HttpServletRequest request) {
-        try {
-            userService.updateUser(userBody);
-            ApiSuccess successResponse = new ApiSuccess("updateUser", "User updated successfully!");
-            return ResponseEntity.ok(successResponse);
-        } catch (InvalidUserException | EmailTakenException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
+    public ResponseEntity<?> updateUser(@RequestBody UserBody userBody) {
+        userService.updateUser(userBody);
+        ApiSuccess successResponse = new ApiSuccess("updateUser", "User updated successfully!");
+        return ResponseEntity.ok(successResponse);
+    }
+
+    @PutMapping(value = "/{email}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize(OWNER_OR_ADMIN)
+    @Operation(
+            summary = "Uploads profile image",
+            description = "Replaces the user's profile image with the uploaded file part.")
+    public ResponseEntity<?> uploadImage(
+            @PathVariable String email, @RequestPart("file") MultipartFile file)
+            throws IOException {
+        try (var content = file.getInputStream()) {
+            return imageUploaded(userService.updateImage(email, content));
         }
     }
 
+    @PutMapping(
+            value = "/{email}/image",
+            consumes = {
+                MediaType.IMAGE_PNG_VALUE,
+                MediaType.IMAGE_JPEG_VALUE,
+                MediaType.IMAGE_GIF_VALUE,
+                "image/webp"
+            })
+    @PreAuthorize(OWNER_OR_ADMIN)
+    @Operation(
+            summary = "Uploads profile image",
+            description = "Replaces the user's profile image with the raw request body.")
+    public ResponseEntity<?> uploadRawImage(@PathVariable String email, HttpServletRequest request)
+            throws IOException {
+        return imageUploaded(userService.updateImage(email, request.getInputStream()));
+    }
+
+    private static ResponseEntity<?> imageUploaded(String imageName) {
+        return ResponseEntity.ok(new ApiSuccess("uploadImage", imageName));
+    }
+
     @DeleteMapping("/{userId}")
     @Operation(summary = "Deletes user", description = "Deletes specific user by id.")
-    public ResponseEntity<?> deleteUser(@PathVariable Long userId, HttpServletRequest request) {
-        try {
-            userService.deleteUser(userId);
-            ApiSuccess successResponse = new ApiSuccess("deleteUser", "User deleted successfully!");
-            return ResponseEntity.ok(successResponse);
-        } catch (InvalidUserException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public ResponseEntity<?> deleteUser(@PathVariable Long userId) {
+        userService.deleteUser(userId);
+        ApiSuccess successResponse = new ApiSuccess("deleteUser", "User deleted successfully!");
+        return ResponseEntity.ok(successResponse);
     }
 
     @GetMapping("/{email}/conquered")
     @Operation(
             summary = "Gets spots that the user has visited",
-            description = "Gets conquered spots.")
+            description =
+                    "Returns a page of conquered spot summaries in the order they were conquered. Pass"
+                            + " the X-Next-Cursor response header back as cursor to get the next page.")
     public ResponseEntity<?> getConqueredSpots(
-            @PathVariable String email, HttpServletRequest request) {
-        try {
-            return ResponseEntity.ok(userService.getConqueredSpots(email));
-        } catch (SpotConqueredException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
+            @PathVariable String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        final var page = userService.getConqueredSpots(email, cursor, limit);
+        final var response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
         }
+        return response.body(page.getItems());
     }
 
     @PostMapping("/{email}/conquered")
@@ -120,21 +122,9 @@ class UsersRestController {
             summary = " Adds user who have visited this spot",
             description = "Adds user entity to the spots conquered list.")
     public ResponseEntity<?> conquerSpot(
-            @PathVariable String email,
-            @RequestBody ConquerBody conquerBody,
-            HttpServletRequest request) {
-        try {
-            userService.conquerSpot(email, conquerBody);
-            ApiSuccess successResponse = new ApiSuccess("conquerSpot", "Spot conquered!");
-            return ResponseEntity.ok(successResponse);
-        } catch (SpotConqueredException | InvalidInputException e) {
-            ApiError error =
-                    new ApiError(
-                            LocalDateTime.now(),
-                            HttpStatus.BAD_REQUEST.value(),
-                            e.getMessage(),
-                            request.getRequestURI());
-            return ResponseEntity.badRequest().body(error);
-        }
+            @PathVariable String email, @RequestBody ConquerBody conquerBody) {
+        userService.conquerSpot(email, conquerBody);
+        ApiSuccess successResponse = new ApiSuccess("conquerSpot", "Spot conquered!");
+        return ResponseEntity.ok(successResponse);
     }
 }
@@ -0,0 +1,33 @@
+package com.spots.domain;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/** An email waiting in the outbox. Sent emails are deleted; exhausted ones stay as FAILED. */
+@Data
+@Builder
+@Document("email_outbox")
+@CompoundIndex(name = "status_nextAttemptAt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class OutboxEmail {
+    @Id private String id;
+    private String to;
+    private String subject;
+    private String html;
+    private Status status;
+    private int attempts;
+
+    /** When the dispatcher may next pick the email up; pushed forward while a send is in flight. */
+    private LocalDateTime nextAttemptAt;
+
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+}
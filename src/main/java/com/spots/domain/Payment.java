@@ -1,18 +1,27 @@
 package com.spots.domain;
 
+import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Builder
 @Document
+@CompoundIndex(name = "status_statusCheckedAt", def = "{'status': 1, 'statusCheckedAt': 1}")
 public class Payment {
-    private long id;
-    private String opennodeId;
-    private long userId;
+    @Id private long id;
+    @Indexed private String opennodeId;
+    @Indexed private long userId;
     private String status;
+
+    /** Last time the status was confirmed by a callback or the reconciliation poller. */
+    private LocalDateTime statusCheckedAt;
+
     private int sats;
     private String lightningInvoice;
     private String uri;
@@ -4,14 +4,17 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Builder
 @Document
+@CompoundIndex(name = "spotId_id", def = "{'spotId': 1, '_id': -1}")
 public class Review {
-    private long id;
+    @Id private long id;
     private Long spotId;
     private UserInfo userInfo;
 
@@ -1,19 +1,25 @@
 package com.spots.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Builder
 @Document
 public class Spot {
-    private long id;
-    @NotBlank private String name;
+    @Id private long id;
+    @Indexed(unique = true) @NotBlank private String name;
     private Location location;
     @NotBlank private String description;
 
@@ -21,6 +27,22 @@ public class Spot {
     @Max(value = 10, message = "Overall rating must be between 1 and 10.")
     private float overallRating;
 
+    /** Running totals of review ratings, maintained with {@code $inc} as reviews come and go. */
+    @JsonIgnore private double ratingSum;
+
+    @JsonIgnore private long ratingCount;
+
     private String imageName;
+
+    /** GeoJSON copy of {@link #location} backing the 2dsphere index. */
+    @JsonIgnore
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint position;
+
     @Transient public static final String SEQUENCE_NAME = "spot_sequence";
+
+    /** Average review rating, or the stored initial rating while the spot has no reviews. */
+    public float getOverallRating() {
+        return ratingCount > 0 ? (float) (ratingSum / ratingCount) : overallRating;
+    }
 }
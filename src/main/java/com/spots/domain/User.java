@@ -2,10 +2,12 @@ package com.spots.domain;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.List;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,14 +16,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 @Builder
 @Document
 public class User implements UserDetails {
-    private long id;
+    @Id private long id;
     private Role role;
     private String username;
     private String imageName;
     private LocalDateTime nextRandomSpotGeneratedTime;
     private long currentSpotId;
-    private List<Long> conqueredSpots;
-    private String email;
+    private Set<Long> conqueredSpots;
+    @Indexed(unique = true) private String email;
     private String password;
     private boolean emailVerified;
     @Transient public static final String SEQUENCE_NAME = "users_sequence";
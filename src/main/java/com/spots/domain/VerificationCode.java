@@ -1,16 +1,26 @@
 package com.spots.domain;
 
+import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Builder
 @Document
 public class VerificationCode {
-    private long id;
-    private String email;
-    private String code;
+    /** How long a code stays valid; Mongo's TTL monitor deletes it afterwards. */
+    @Transient public static final String EXPIRE_AFTER = "24h";
+
+    @Id private long id;
+    @Indexed private String email;
+    @Indexed(unique = true) private String code;
+
+    @Indexed(expireAfter = EXPIRE_AFTER)
+    private LocalDateTime createdAt;
+
     @Transient public static final String SEQUENCE_NAME = "code_sequence";
 }
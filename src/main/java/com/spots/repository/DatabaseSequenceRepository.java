@@ -1,6 +0,0 @@
-package com.spots.repository;
-
-import com.spots.domain.DatabaseSequence;
-import org.springframework.data.mongodb.repository.MongoRepository;
-
-public interface DatabaseSequenceRepository extends MongoRepository<DatabaseSequence, String> {}
@@ -1,10 +1,12 @@
 package com.spots.repository;
 
 import com.spots.domain.Review;
-import org.springframework.data.domain.Page;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface ReviewRepository extends MongoRepository<Review, Long> {
-    Page<Review> findAllBySpotId(Long spotId, Pageable pageable);
+    List<Review> findBySpotIdOrderByIdDesc(Long spotId, Pageable pageable);
+
+    List<Review> findBySpotIdAndIdLessThanOrderByIdDesc(Long spotId, long id, Pageable pageable);
 }
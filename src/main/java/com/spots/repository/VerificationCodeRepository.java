@@ -6,4 +6,6 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface VerificationCodeRepository extends MongoRepository<VerificationCode, Long> {
     Optional<VerificationCode> findVerificationCodeByCode(String verificationCode);
+
+    void deleteByEmail(String email);
 }
@@ -0,0 +1,108 @@
+package com.spots.service.admin;
+
+import com.spots.common.output.IndexUsage;
+import com.spots.domain.OutboxEmail;
+import com.spots.domain.Payment;
+import com.spots.domain.Review;
+import com.spots.domain.Spot;
+import com.spots.domain.User;
+import com.spots.domain.VerificationCode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Service;
+
+/**
+ * Owns the index set declared with {@code @Indexed}, {@code @CompoundIndex} and {@code
+ * @GeoSpatialIndexed} on the document classes.
+ *
+ * <p>Indexes are ensured once, before the web server starts taking requests. {@code ensureIndex}
+ * is a no-op for an index that already exists with the same definition and fails for one that
+ * conflicts with it, so this doubles as verification. A failure is logged, or stops startup when
+ * {@code application.mongo.indexes.fail-on-error} is set.
+ */
+@Service
+public class MongoIndexService implements SmartInitializingSingleton {
+    static final List<Class<?>> DOCUMENTS =
+            List.of(
+                    User.class,
+                    Spot.class,
+                    Review.class,
+                    Payment.class,
+                    VerificationCode.class,
+                    OutboxEmail.class);
+
+    private final Logger logger = LoggerFactory.getLogger(MongoIndexService.class);
+    private final MongoTemplate mongoTemplate;
+    private final MongoPersistentEntityIndexResolver indexResolver;
+    private final boolean failOnError;
+
+    public MongoIndexService(
+            MongoTemplate mongoTemplate,
+            @Value("${application.mongo.indexes.fail-on-error:false}") boolean failOnError) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexResolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        this.failOnError = failOnError;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+    }
+
+    public void ensureIndexes() {
+        for (Class<?> type : DOCUMENTS) {
+            final var indexOps = mongoTemplate.indexOps(type);
+            for (IndexDefinition definition : indexResolver.resolveIndexFor(type)) {
+                try {
+                    indexOps.ensureIndex(definition);
+                } catch (DataAccessException e) {
+                    if (failOnError) {
+                        throw new IllegalStateException(
+                                "Could not create index " + definition.getIndexOptions() + " on " + type, e);
+                    }
+                    logger.error("Could not create index {} on {}", definition.getIndexKeys(), type, e);
+                }
+            }
+        }
+    }
+
+    /** Lists every index of the mapped collections together with its usage counters. */
+    public List<IndexUsage> getIndexUsage() {
+        final List<IndexUsage> usage = new ArrayList<>();
+        for (Class<?> type : DOCUMENTS) {
+            final var collection = mongoTemplate.getCollectionName(type);
+            final Set<Document> declaredKeys = new HashSet<>();
+            indexResolver.resolveIndexFor(type).forEach(index -> declaredKeys.add(index.getIndexKeys()));
+            final var stats =
+                    mongoTemplate
+                            .getCollection(collection)
+                            .aggregate(List.of(new Document("$indexStats", new Document())));
+            for (Document index : stats) {
+                final var key = index.get("key", Document.class);
+                final var accesses = index.get("accesses", Document.class);
+                usage.add(
+                        IndexUsage.builder()
+                                .collection(collection)
+                                .name(index.getString("name"))
+                                .key(key)
+                                .declared(declaredKeys.contains(key) || "_id_".equals(index.getString("name")))
+                                .ops(((Number) accesses.get("ops")).longValue())
+                                .since(accesses.getDate("since"))
+                                .build());
+            }
+        }
+        return usage;
+    }
+}
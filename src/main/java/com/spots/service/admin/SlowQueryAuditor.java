@@ -0,0 +1,141 @@
+package com.spots.service.admin;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Development aid enabled with the {@code slow-query} profile.
+ *
+ * <p>Logs every query command slower than {@code application.mongo.slow-query-threshold} and
+ * explains each distinct query once per call site, warning when the winning plan is a collection
+ * scan. The call site is the first {@code com.spots} frame on the calling thread, which for
+ * repository methods is the service method that invoked them.
+ */
+@Component
+@Profile("slow-query")
+public class SlowQueryAuditor implements CommandListener {
+    private static final Set<String> QUERY_COMMANDS =
+            Set.of("find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+    private static final Set<String> SESSION_FIELDS =
+            Set.of("lsid", "txnNumber", "autocommit", "startTransaction", "readConcern");
+
+    private final Logger logger = LoggerFactory.getLogger(SlowQueryAuditor.class);
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final long thresholdMillis;
+    private final Map<Integer, StartedCommand> started = new ConcurrentHashMap<>();
+    private final Set<String> explained = ConcurrentHashMap.newKeySet();
+    private final ExecutorService explainer =
+            Executors.newSingleThreadExecutor(
+                    runnable -> {
+                        final var thread = new Thread(runnable, "slow-query-explain");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    public SlowQueryAuditor(
+            ObjectProvider<MongoClient> mongoClient,
+            @Value("${application.mongo.slow-query-threshold:100ms}") Duration threshold) {
+        this.mongoClient = mongoClient;
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    private record StartedCommand(String database, BsonDocument command, String caller) {}
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (QUERY_COMMANDS.contains(event.getCommandName())) {
+            // The event's document is only valid during the callback.
+            started.put(
+                    event.getRequestId(),
+                    new StartedCommand(event.getDatabaseName(), event.getCommand().clone(), caller()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        final var command = started.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        final long elapsed = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (elapsed >= thresholdMillis) {
+            logger.warn(
+                    "Slow Mongo {} took {} ms in {}: {}",
+                    event.getCommandName(),
+                    elapsed,
+                    command.caller(),
+                    command.command().toJson());
+        }
+        final var collection = command.command().get(event.getCommandName());
+        if (explained.add(command.caller() + ':' + event.getCommandName() + ':' + collection)) {
+            explainer.execute(() -> explain(command));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        started.remove(event.getRequestId());
+    }
+
+    private void explain(StartedCommand command) {
+        final var query = new BsonDocument();
+        command.command().forEach(
+                (name, value) -> {
+                    if (!name.startsWith("$") && !SESSION_FIELDS.contains(name)) {
+                        query.append(name, value);
+                    }
+                });
+        try {
+            final var plan =
+                    mongoClient
+                            .getObject()
+                            .getDatabase(command.database())
+                            .runCommand(
+                                    new BsonDocument("explain", query)
+                                            .append("verbosity", new BsonString("queryPlanner")));
+            if (plan.toJson().contains("\"COLLSCAN\"")) {
+                logger.warn(
+                        "Mongo query from {} runs without an index: {}", command.caller(), query.toJson());
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Could not explain {}", query.toJson(), e);
+        }
+    }
+
+    private static String caller() {
+        return StackWalker.getInstance()
+                .walk(
+                        frames ->
+                                frames.map(frame -> frame.getClassName() + '.' + frame.getMethodName())
+                                        .filter(
+                                                name ->
+                                                        name.startsWith("com.spots.")
+                                                                && !name.startsWith(SlowQueryAuditor.class.getName()))
+                                        .findFirst()
+                                        .orElse("unknown"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainer.shutdownNow();
+    }
+}
@@ -0,0 +1,90 @@
+package com.spots.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.spots.domain.User;
+import com.spots.repository.UserRepository;
+import com.spots.service.user.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded, expiring cache of the users behind verified tokens, keyed by the token subject.
+ *
+ * <p>Entries are evicted after commit of any change to the user, so a warm authenticated request
+ * needs no Mongo call. The email is also broadcast on {@value #CHANNEL} so the other nodes drop
+ * their copy instead of serving a deleted or demoted user until the entry expires. Hit and miss
+ * counts are published as {@code cache.gets{cache=authenticatedUsers}}.
+ */
+@Component
+public class AuthenticatedUserCache {
+    public static final String CHANNEL = "user-invalidations";
+    private final Logger logger = LoggerFactory.getLogger(AuthenticatedUserCache.class);
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redis;
+    private final Cache<String, User> users;
+
+    @Autowired
+    public AuthenticatedUserCache(
+            UserRepository userRepository,
+            RedisTemplate<String, String> redis,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${application.security.user-cache.ttl:5m}") Duration ttl) {
+        this(userRepository, redis, meterRegistry, maxSize, ttl, Ticker.systemTicker());
+    }
+
+    AuthenticatedUserCache(
+            UserRepository userRepository,
+            RedisTemplate<String, String> redis,
+            MeterRegistry meterRegistry,
+            long maxSize,
+            Duration ttl,
+            Ticker ticker) {
+        this.userRepository = userRepository;
+        this.redis = redis;
+        this.users =
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .ticker(ticker)
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "authenticatedUsers");
+    }
+
+    public Optional<User> get(String email) {
+        return Optional.ofNullable(
+                users.get(email, key -> userRepository.findUserByEmail(key).orElse(null)));
+    }
+
+    public void evict(String email) {
+        users.invalidate(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getEmail());
+        try {
+            redis.convertAndSend(CHANNEL, event.getEmail());
+        } catch (DataAccessException e) {
+            logger.warn("Could not broadcast invalidation of user {}", event.getEmail(), e);
+        }
+    }
+
+    /** Handles an invalidation broadcast by any node, this one included. */
+    public void onInvalidated(String email) {
+        evict(email);
+    }
+}
@@ -13,46 +13,57 @@ import com.spots.domain.VerificationCode;
 import com.spots.repository.UserRepository;
 import com.spots.repository.VerificationCodeRepository;
 import com.spots.service.common.SequenceGeneratorService;
+import com.spots.service.http.OutboundHttpClients;
+import com.spots.service.mail.MailOutbox;
 import com.spots.service.user.InvalidUserException;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.spots.service.user.UserChangedEvent;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.servlet.http.HttpServletRequest;
+import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.LinkedHashSet;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
+    private static final String FACEBOOK_FIELDS = "id,name,email,picture.type(large)";
+    private static final String CODE_CHARACTERS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int CODE_LENGTH = 8;
+    private static final SecureRandom CODE_RANDOM = new SecureRandom();
     private final UserRepository userRepository;
     private final VerificationCodeRepository verificationCodeRepository;
     private final SequenceGeneratorService sequenceGeneratorService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final GenericValidator<LoginBody> loginValidator = new GenericValidator<>();
-    private final GenericValidator<RegisterBody> registerValidator = new GenericValidator<>();
-    private final RedisTemplate<String, String> redis;
-    private final JavaMailSender mailSender;
+    private final GenericValidator validator;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final VerificationCodeCache verificationCodeCache;
+    private final MailOutbox mailOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboundHttpClients outboundHttpClients;
     private final String defaultProfilePictureName = "default-profile.png";
 
     @Transactional
-    public void register(RegisterBody body) throws MessagingException {
-        registerValidator.validate(body);
+    public void register(RegisterBody body) {
+        validator.validate(body);
         var user =
                 User.builder()
                         .id(sequenceGeneratorService.generateSequence(User.SEQUENCE_NAME))
@@ -60,7 +71,7 @@ public class AuthenticationService {
                         .email(body.getEmail())
                         .role(Role.USER)
                         .password(body.getPassword())
-                        .conqueredSpots(new ArrayList<>())
+                        .conqueredSpots(new LinkedHashSet<>())
                         .build();
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
@@ -68,13 +79,13 @@ public class AuthenticationService {
         if (userRepository.existsUserByEmail(user.getEmail())) {
             throw new EmailTakenException("User with that email already exists");
         }
-        sendVerificationEmail(user.getEmail());
         userRepository.insert(user);
+        sendVerificationEmail(user.getEmail());
     }
 
     @Transactional
     public LoginResponse login(LoginBody body) {
-        loginValidator.validate(body);
+        validator.validate(body);
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(body.getEmail(), body.getPassword()));
         // get user
@@ -102,16 +113,17 @@ public class AuthenticationService {
 
     @Transactional
     public GoogleUserDTO loginWithGoogle(String accessToken) {
-        WebClient webClient = WebClient.create();
         try {
             final var googleUserDTO =
-                    webClient
-                            .get()
-                            .uri("https://www.googleapis.com/userinfo/v2/me")
-                            .header("Authorization", "Bearer " + accessToken)
-                            .retrieve()
-                            .bodyToMono(GoogleUserDTO.class)
-                            .block();
+                    fetchProfile(
+                            OutboundHttpClients.GOOGLE,
+                            client ->
+                                    client
+                                            .get()
+                                            .uri("/userinfo/v2/me")
+                                            .headers(headers -> headers.setBearerAuth(accessToken))
+                                            .retrieve()
+                                            .bodyToMono(GoogleUserDTO.class));
             final var userOptional = userRepository.findUserByEmail(googleUserDTO.getEmail());
             User user;
             if (!userOptional.isPresent()) {
@@ -123,7 +135,7 @@ public class AuthenticationService {
                                 .role(Role.USER)
                                 .imageName(googleUserDTO.getImageUrl())
                                 .emailVerified(true)
-                                .conqueredSpots(new ArrayList<>())
+                                .conqueredSpots(new LinkedHashSet<>())
                                 .build();
             } else {
                 user = userOptional.get();
@@ -145,25 +157,26 @@ public class AuthenticationService {
             return googleUserDTO;
         } catch (DuplicateKeyException e) {
             throw new UserAlreadyExistsException("User already exists!");
-        } catch (Exception e) {
-            throw new InvalidAccessTokenException("Invalid access token: " + accessToken);
         }
     }
 
     @Transactional
     public FacebookUserDTO loginWithFacebook(String accessToken) {
-        WebClient webClient = WebClient.create();
         try {
             final var facebookUserDTO =
-                    webClient
-                            .get()
-                            .uri(
-                                    "https://graph.facebook.com/me?access_token="
-                                            + accessToken
-                                            + "&fields=id,name,email,picture.type(large)")
-                            .retrieve()
-                            .bodyToMono(FacebookUserDTO.class)
-                            .block();
+                    fetchProfile(
+                            OutboundHttpClients.FACEBOOK,
+                            client ->
+                                    client
+                                            .get()
+                                            .uri(
+                                                    uri ->
+                                                            uri.path("/me")
+                                                                    .queryParam("access_token", accessToken)
+                                                                    .queryParam("fields", FACEBOOK_FIELDS)
+                                                                    .build())
+                                            .retrieve()
+                                            .bodyToMono(FacebookUserDTO.class));
 
             final var userOptional = userRepository.findUserByEmail(facebookUserDTO.getEmail());
             User user;
@@ -176,7 +189,7 @@ public class AuthenticationService {
                                 .role(Role.USER)
                                 .imageName(facebookUserDTO.getImageUrl().getData().getUrl())
                                 .emailVerified(true)
-                                .conqueredSpots(new ArrayList<>())
+                                .conqueredSpots(new LinkedHashSet<>())
                                 .build();
             } else {
                 user = userOptional.get();
@@ -197,68 +210,87 @@ public class AuthenticationService {
             return facebookUserDTO;
         } catch (DuplicateKeyException e) {
             throw new UserAlreadyExistsException("User already exists!");
-        } catch (Exception e) {
-            throw new InvalidAccessTokenException("Invalid access token: " + accessToken);
         }
     }
 
+    /**
+     * Waits for a social login provider's profile of the caller. Only the provider rejecting the
+     * token makes it invalid; timeouts, an open circuit and provider errors are an outage.
+     */
+    private <T> T fetchProfile(String provider, Function<WebClient, Mono<T>> request) {
+        final T result;
+        try {
+            result = outboundHttpClients.get(provider).retrieve(request).block();
+        } catch (WebClientResponseException e) {
+            // Facebook answers an invalid or expired token with 400 rather than 401.
+            final int status = e.getStatusCode().value();
+            if (status == 400 || status == 401 || status == 403) {
+                throw new InvalidAccessTokenException("Invalid access token", e);
+            }
+            throw new SocialLoginUnavailableException("Login provider is unavailable", e);
+        } catch (WebClientRequestException | CallNotPermittedException e) {
+            throw new SocialLoginUnavailableException("Login provider is unavailable", e);
+        }
+        if (result == null) {
+            throw new InvalidAccessTokenException("Invalid access token");
+        }
+        return result;
+    }
+
     public void logout(HttpServletRequest request) {
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        var jwt = authHeader.substring(7);
-        redis.opsForValue().set(request.getRemoteAddr(), jwt);
+        final var token = jwtService.verify(authHeader.substring(7));
+        tokenRevocationStore.revoke(token);
+        eventPublisher.publishEvent(new UserChangedEvent(token.getSubject()));
     }
 
     @Transactional
     public void verifyEmail(String code) {
-        final var verificationCode =
-                verificationCodeRepository
-                        .findVerificationCodeByCode(code)
+        final var email =
+                verificationCodeCache
+                        .findEmail(code)
+                        .or(
+                                () ->
+                                        verificationCodeRepository
+                                                .findVerificationCodeByCode(code)
+                                                .map(VerificationCode::getEmail))
                         .orElseThrow(() -> new InvalidVerificationCodeException("Invalid verification code!"));
         final var user =
                 userRepository
-                        .findUserByEmail(verificationCode.getEmail())
+                        .findUserByEmail(email)
                         .orElseThrow(
                                 () -> new InvalidUserException("Verification code does not match any user"));
         user.setEmailVerified(true);
         userRepository.save(user);
+        // A verified address needs none of its codes any more, including older unused ones.
+        verificationCodeRepository.deleteByEmail(email);
+        verificationCodeCache.evict(code);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
     }
 
-    public void sendVerificationEmail(String userEmail) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-        helper.setTo(userEmail);
-        helper.setFrom("bgspots@gmail.com");
-        helper.setSubject("Spots Verification Code");
-
-        String verificationCode = generateRandomCode(userEmail); // Generate code based on email
+    /** Stores a new code and queues its email; both are discarded if the caller rolls back. */
+    public void sendVerificationEmail(String userEmail) {
+        String verificationCode = generateRandomCode();
         String emailContent = "Your verification code is: <strong>" + verificationCode + "</strong>";
 
-        helper.setText(emailContent, true);
-
         final var code =
                 VerificationCode.builder()
                         .code(verificationCode)
                         .email(userEmail)
                         .id(sequenceGeneratorService.generateSequence(VerificationCode.SEQUENCE_NAME))
+                        .createdAt(LocalDateTime.now())
                         .build();
         verificationCodeRepository.insert(code);
-        mailSender.send(message);
+        eventPublisher.publishEvent(new VerificationCodeIssuedEvent(verificationCode, userEmail));
+        mailOutbox.enqueue(userEmail, "Spots Verification Code", emailContent);
     }
 
-    private String generateRandomCode(String userEmail) {
-        // Use the user's email as part of the seed for generating the code
-        String seed = userEmail + System.currentTimeMillis();
-
-        // Generate the code using the seed
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        StringBuilder code = new StringBuilder();
-        Random random = new Random(seed.hashCode());
-
-        for (int i = 0; i < 6; i++) {
-            code.append(characters.charAt(random.nextInt(characters.length())));
+    private static String generateRandomCode() {
+        // 62^8 codes: collisions with a live code are negligible, and the unique index rejects them.
+        final var code = new StringBuilder(CODE_LENGTH);
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code.append(CODE_CHARACTERS.charAt(CODE_RANDOM.nextInt(CODE_CHARACTERS.length())));
         }
-
         return code.toString();
     }
 
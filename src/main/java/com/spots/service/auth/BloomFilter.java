@@ -0,0 +1,66 @@
+package com.spots.service.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Safe for concurrent {@link #put} and {@link #mightContain}
+ * without locking; entries can never be removed, so owners rebuild it to drop stale ones.
+ */
+final class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        final int insertions = Math.max(1, expectedInsertions);
+        final double ln2 = Math.log(2);
+        final double optimalBits = -insertions * Math.log(falsePositiveRate) / (ln2 * ln2);
+        final int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.ceil(optimalBits / 64));
+        words = new AtomicLongArray(Math.max(1, wordCount));
+        bitCount = (long) words.length() * 64;
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * ln2));
+    }
+
+    void put(String value) {
+        final long hash = fnv1a(value);
+        final long h1 = mix(hash);
+        final long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bitCount);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            words.getAndAccumulate(word, mask, (current, m) -> current | m);
+        }
+    }
+
+    boolean mightContain(String value) {
+        final long hash = fnv1a(value);
+        final long h1 = mix(hash);
+        final long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -1,7 +1,10 @@
 package com.spots.service.auth;
 
-public class EmailNotVerifiedException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class EmailNotVerifiedException extends ApiException {
     public EmailNotVerifiedException(String message) {
-        super(message);
+        super(HttpStatus.FORBIDDEN, message);
     }
 }
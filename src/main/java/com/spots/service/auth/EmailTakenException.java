@@ -1,7 +1,10 @@
 package com.spots.service.auth;
 
-public class EmailTakenException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class EmailTakenException extends ApiException {
     public EmailTakenException(String message) {
-        super(message);
+        super(HttpStatus.CONFLICT, message);
     }
 }
@@ -1,7 +1,14 @@
 package com.spots.service.auth;
 
-public class InvalidAccessTokenException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidAccessTokenException extends ApiException {
     public InvalidAccessTokenException(String message) {
-        super(message);
+        super(HttpStatus.UNAUTHORIZED, message);
+    }
+
+    public InvalidAccessTokenException(String message, Throwable cause) {
+        super(HttpStatus.UNAUTHORIZED, message, cause);
     }
 }
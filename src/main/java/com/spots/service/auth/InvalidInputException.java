@@ -1,7 +1,10 @@
 package com.spots.service.auth;
 
-public class InvalidInputException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidInputException extends ApiException {
     public InvalidInputException(String message) {
-        super(message);
+        super(HttpStatus.BAD_REQUEST, message);
     }
 }
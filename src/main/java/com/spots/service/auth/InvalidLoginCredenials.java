@@ -1,7 +1,10 @@
 package com.spots.service.auth;
 
-public class InvalidLoginCredenials extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidLoginCredenials extends ApiException {
     public InvalidLoginCredenials(String message) {
-        super(message);
+        super(HttpStatus.BAD_REQUEST, message);
     }
 }
@@ -1,7 +1,10 @@
 package com.spots.service.auth;
 
-public class InvalidVerificationCodeException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidVerificationCodeException extends ApiException {
     public InvalidVerificationCodeException(String message) {
-        super(message);
+        super(HttpStatus.BAD_REQUEST, message);
     }
 }
@@ -1,24 +1,26 @@
 package com.spots.service.auth;
 
+import com.spots.config.InvalidJwtTokenException;
 import com.spots.domain.User;
-import com.spots.repository.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.function.Function;
-import lombok.RequiredArgsConstructor;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-@RequiredArgsConstructor
 @Service
 public class JwtService {
 
@@ -28,16 +30,47 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
-    private final RedisTemplate<String, String> redis;
-    private final UserRepository userRepository;
+    private Key signInKey;
+    private JwtParser jwtParser;
+    private final Timer validTokens;
+    private final Timer invalidTokens;
 
-    public String extractEmail(String jwt) {
-        return extractClaim(jwt, Claims::getSubject);
+    public JwtService(MeterRegistry meterRegistry) {
+        this.validTokens =
+                Timer.builder("security.jwt.verify").tag("result", "valid").register(meterRegistry);
+        this.invalidTokens =
+                Timer.builder("security.jwt.verify").tag("result", "invalid").register(meterRegistry);
     }
 
-    public <T> T extractClaim(String jwt, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(jwt);
-        return claimsResolver.apply(claims);
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+    }
+
+    /**
+     * Checks the signature and expiration of {@code jwt} and returns its claims. The token is
+     * parsed exactly once; callers should pass the result around instead of the raw string.
+     */
+    public VerifiedToken verify(String jwt) {
+        final long start = System.nanoTime();
+        final Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(jwt).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new InvalidJwtTokenException("Invalid jwt token");
+        }
+        validTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        // Tokens issued before ids were added are identified by their signature instead.
+        final String tokenId =
+                claims.getId() != null ? claims.getId() : jwt.substring(jwt.lastIndexOf('.') + 1);
+        return new VerifiedToken(
+                jwt,
+                tokenId,
+                claims.getSubject(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
     }
 
     public String generateToken(User userDetails) {
@@ -51,34 +84,11 @@ public class JwtService {
     private String buildToken(Map<String, Object> extraClaims, User userDetails, long expiration) {
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getEmail())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-
-    public boolean isTokenValid(String jwt, String ip) {
-        final var blacklistedToken = redis.opsForValue().get(ip);
-        return (Objects.isNull(blacklistedToken) || !blacklistedToken.equals(jwt))
-                && !isTokenExpired(jwt)
-                && userRepository.existsUserByEmail(extractEmail(jwt));
-    }
-
-    private boolean isTokenExpired(String jwt) {
-        return extractExpiration(jwt).before(new Date());
-    }
-
-    private Date extractExpiration(String jwt) {
-        return extractClaim(jwt, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String jwt) {
-        return Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(jwt).getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
@@ -1,7 +1,10 @@
 package com.spots.service.auth;
 
-public class LogoutException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class LogoutException extends ApiException {
     public LogoutException(String message) {
-        super(message);
+        super(HttpStatus.BAD_REQUEST, message);
     }
 }
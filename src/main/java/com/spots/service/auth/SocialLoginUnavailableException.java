@@ -0,0 +1,11 @@
+package com.spots.service.auth;
+
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+/** A social login provider could not be reached or failed, so the caller's token was not judged. */
+public class SocialLoginUnavailableException extends ApiException {
+    public SocialLoginUnavailableException(String message, Throwable cause) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message, cause);
+    }
+}
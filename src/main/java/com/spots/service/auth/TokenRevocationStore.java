@@ -0,0 +1,113 @@
+package com.spots.service.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revoked token ids ({@code jti}), stored in Redis under {@code revoked:<jti>} until the token
+ * would have expired anyway.
+ *
+ * <p>Every node keeps a Bloom filter of the revoked ids, so a token that was never revoked is
+ * accepted without a Redis round trip. Revocations are broadcast on {@value #CHANNEL} to keep the
+ * other nodes' filters current, and the filter is rebuilt from Redis periodically to shed ids whose
+ * keys have expired.
+ */
+@Component
+public class TokenRevocationStore {
+    public static final String CHANNEL = "token-revocations";
+    private static final String KEY_PREFIX = "revoked:";
+    private final Logger logger = LoggerFactory.getLogger(TokenRevocationStore.class);
+    private final RedisTemplate<String, String> redis;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private volatile boolean seeded;
+
+    public TokenRevocationStore(
+            RedisTemplate<String, String> redis,
+            @Value("${application.security.revocation.expected-revocations:100000}")
+                    int expectedRevocations,
+            @Value("${application.security.revocation.false-positive-rate:0.01}")
+                    double falsePositiveRate) {
+        this.redis = redis;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public void revoke(VerifiedToken token) {
+        final var ttl = Duration.between(Instant.now(), token.getExpiresAt());
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        redis.opsForValue().set(KEY_PREFIX + token.getTokenId(), "1", ttl);
+        remember(token.getTokenId());
+        redis.convertAndSend(CHANNEL, token.getTokenId());
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        // Until the filter has been seeded from Redis it cannot vouch for anything.
+        if (seeded && !filter.mightContain(token.getTokenId())) {
+            return false;
+        }
+        return Boolean.TRUE.equals(redis.hasKey(KEY_PREFIX + token.getTokenId()));
+    }
+
+    /** Receives revocations published on {@value #CHANNEL} by any node, this one included. */
+    public void onRevoked(String tokenId) {
+        remember(tokenId);
+    }
+
+    private void remember(String tokenId) {
+        // The filter being rebuilt goes first: rebuild() publishes it as the filter before it
+        // clears rebuilding, so one of the two reads is bound to see the filter that stays.
+        final var next = rebuilding;
+        if (next != null) {
+            next.put(tokenId);
+        }
+        filter.put(tokenId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            fixedDelayString = "${application.security.revocation.rebuild-interval:PT1H}",
+            initialDelayString = "${application.security.revocation.rebuild-interval:PT1H}")
+    public synchronized void rebuild() {
+        final var next = new BloomFilter(expectedRevocations, falsePositiveRate);
+        rebuilding = next;
+        try {
+            final var options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+            redis.execute(
+                    (RedisCallback<Void>)
+                            connection -> {
+                                try (var keys = connection.keyCommands().scan(options)) {
+                                    keys.forEachRemaining(
+                                            key ->
+                                                    next.put(
+                                                            new String(key, StandardCharsets.UTF_8)
+                                                                    .substring(KEY_PREFIX.length())));
+                                }
+                                return null;
+                            });
+            filter = next;
+            seeded = true;
+        } catch (DataAccessException e) {
+            logger.warn("Could not load revoked tokens, checking Redis on every request", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+}
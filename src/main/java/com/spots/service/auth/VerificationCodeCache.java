@@ -0,0 +1,71 @@
+package com.spots.service.auth;
+
+import com.spots.domain.VerificationCode;
+import java.time.Duration;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Optional Redis fast path from verification code to email, enabled with {@code
+ * application.security.verification-code.redis-cache}.
+ *
+ * <p>Codes are written after the registering transaction commits and expire together with the
+ * Mongo TTL index. Mongo stays the source of truth: a miss or a Redis error falls back to it.
+ */
+@Component
+public class VerificationCodeCache {
+    private static final String KEY_PREFIX = "verification-code:";
+    private static final Duration TTL = DurationStyle.detectAndParse(VerificationCode.EXPIRE_AFTER);
+    private final Logger logger = LoggerFactory.getLogger(VerificationCodeCache.class);
+    private final RedisTemplate<String, String> redis;
+    private final boolean enabled;
+
+    public VerificationCodeCache(
+            RedisTemplate<String, String> redis,
+            @Value("${application.security.verification-code.redis-cache:false}") boolean enabled) {
+        this.redis = redis;
+        this.enabled = enabled;
+    }
+
+    public Optional<String> findEmail(String code) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(redis.opsForValue().get(KEY_PREFIX + code));
+        } catch (DataAccessException e) {
+            logger.warn("Verification code lookup in Redis failed, falling back to Mongo", e);
+            return Optional.empty();
+        }
+    }
+
+    public void evict(String code) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redis.delete(KEY_PREFIX + code);
+        } catch (DataAccessException e) {
+            logger.warn("Could not evict verification code from Redis", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCodeIssued(VerificationCodeIssuedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redis.opsForValue().set(KEY_PREFIX + event.getCode(), event.getEmail(), TTL);
+        } catch (DataAccessException e) {
+            logger.warn("Could not cache verification code in Redis", e);
+        }
+    }
+}
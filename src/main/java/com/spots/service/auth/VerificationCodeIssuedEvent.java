@@ -0,0 +1,12 @@
+package com.spots.service.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Published when a verification code is stored for an email address. */
+@Getter
+@AllArgsConstructor
+public class VerificationCodeIssuedEvent {
+    private final String code;
+    private final String email;
+}
@@ -0,0 +1,16 @@
+package com.spots.service.auth;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Claims of a token whose signature and expiration have already been checked. */
+@Getter
+@AllArgsConstructor
+public final class VerifiedToken {
+    private final String token;
+    private final String tokenId;
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+}
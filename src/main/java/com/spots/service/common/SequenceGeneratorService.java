@@ -1,23 +1,88 @@
 package com.spots.service.common;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 import com.spots.domain.DatabaseSequence;
-import com.spots.repository.DatabaseSequenceRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Hands out numeric ids from in-memory blocks reserved in {@code database_sequences}.
+ *
+ * <p>A block is reserved with a single atomic {@code $inc} of {@code block-size}, so every node
+ * gets a disjoint range and ids stay unique across the cluster. Ids are only monotonic per node;
+ * set {@code application.sequence.block-size} to 1 to get strictly increasing ids across nodes at
+ * the cost of one round-trip per id.
+ */
 @Service
 @RequiredArgsConstructor
 public class SequenceGeneratorService {
-    private final DatabaseSequenceRepository databaseSequenceRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final Map<String, IdBlock> blocks = new ConcurrentHashMap<>();
+    // Not monitors: a virtual thread blocked on Mongo inside synchronized would pin its carrier.
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    @Value("${application.sequence.block-size:1000}")
+    private long blockSize;
 
     public long generateSequence(String seqName) {
+        while (true) {
+            final var block = blocks.get(seqName);
+            if (block != null) {
+                final long id = block.next.getAndIncrement();
+                if (id < block.end) {
+                    return id;
+                }
+            }
+            final var lock = locks.computeIfAbsent(seqName, name -> new ReentrantLock());
+            lock.lock();
+            try {
+                if (blocks.get(seqName) == block) {
+                    blocks.put(seqName, reserveBlock(seqName));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private IdBlock reserveBlock(String seqName) {
+        // The reservation must survive a rollback of the caller's transaction, otherwise the
+        // same range would be handed out again after the in-memory block is already in use.
+        final var outsideTransaction = new TransactionTemplate(transactionManager);
+        outsideTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
         final var counter =
-                databaseSequenceRepository
-                        .findById(seqName)
-                        .orElseGet(() -> new DatabaseSequence(seqName, 1L));
-        final var index = counter.getSeq();
-        counter.setSeq(index + 1);
-        databaseSequenceRepository.save(counter);
-        return index;
+                outsideTransaction.execute(
+                        status ->
+                                mongoTemplate.findAndModify(
+                                        query(where("_id").is(seqName)),
+                                        new Update().inc("seq", blockSize),
+                                        FindAndModifyOptions.options().returnNew(true).upsert(true),
+                                        DatabaseSequence.class));
+        final long end = counter.getSeq();
+        return new IdBlock(Math.max(end - blockSize, 1L), end);
+    }
+
+    private static final class IdBlock {
+        private final AtomicLong next;
+        private final long end;
+
+        private IdBlock(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
     }
 }
@@ -0,0 +1,53 @@
+package com.spots.service.http;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+/** A pooled {@link WebClient} for one remote provider, guarded by its own circuit breaker. */
+public class OutboundClient {
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBackoffSpec retry;
+
+    OutboundClient(
+            WebClient webClient, CircuitBreaker circuitBreaker, OutboundHttpProperties.Provider provider) {
+        this.webClient = webClient;
+        this.circuitBreaker = circuitBreaker;
+        this.retry =
+                Retry.backoff(provider.getMaxRetries(), provider.getRetryBackoff())
+                        .maxBackoff(provider.getRetryBackoff().multipliedBy(8))
+                        .jitter(0.5)
+                        .filter(OutboundClient::isTransient)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /** Runs an idempotent request, retrying connection failures, timeouts, 429 and 5xx. */
+    public <T> Mono<T> retrieve(Function<WebClient, Mono<T>> request) {
+        return send(request).retryWhen(retry);
+    }
+
+    /** Runs a request exactly once, for calls that must not be repeated such as creating a charge. */
+    public <T> Mono<T> send(Function<WebClient, Mono<T>> request) {
+        return Mono.defer(() -> request.apply(webClient))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientRequestException) {
+            return true;
+        }
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package com.spots.service.http;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.netty.channel.ChannelOption;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Outbound HTTP clients, one per provider configured under {@code application.http.providers}.
+ *
+ * <p>Every client shares one connection pool and the application's {@link WebClient.Builder}, so
+ * requests are recorded as {@code http.client.requests}; timeouts, retries and the circuit breaker
+ * are set per provider.
+ */
+@Component
+public class OutboundHttpClients {
+    public static final String OPENNODE = "opennode";
+    public static final String GOOGLE = "google";
+    public static final String FACEBOOK = "facebook";
+
+    private final Map<String, OutboundClient> clients = new HashMap<>();
+
+    public OutboundHttpClients(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider outboundConnectionProvider,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            OutboundHttpProperties properties) {
+        properties
+                .getProviders()
+                .forEach(
+                        (name, provider) -> {
+                            final var httpClient =
+                                    HttpClient.create(outboundConnectionProvider)
+                                            .option(
+                                                    ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                                                    (int) provider.getConnectTimeout().toMillis())
+                                            .responseTimeout(provider.getReadTimeout());
+                            final var webClient =
+                                    webClientBuilder
+                                            .clone()
+                                            .baseUrl(provider.getBaseUrl())
+                                            .clientConnector(new ReactorClientHttpConnector(httpClient))
+                                            .build();
+                            final var circuitBreaker =
+                                    circuitBreakerRegistry.circuitBreaker(
+                                            name,
+                                            CircuitBreakerConfig.custom()
+                                                    .failureRateThreshold(provider.getFailureRateThreshold())
+                                                    .slidingWindowType(
+                                                            CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+                                                    .slidingWindowSize(
+                                                            (int) provider.getSlidingWindow().toSeconds())
+                                                    .minimumNumberOfCalls(provider.getMinimumNumberOfCalls())
+                                                    .waitDurationInOpenState(provider.getOpenStateDuration())
+                                                    .build());
+                            clients.put(name, new OutboundClient(webClient, circuitBreaker, provider));
+                        });
+    }
+
+    public OutboundClient get(String provider) {
+        final var client = clients.get(provider);
+        if (client == null) {
+            throw new IllegalStateException("No outbound client configured for " + provider);
+        }
+        return client;
+    }
+}
@@ -0,0 +1,45 @@
+package com.spots.service.http;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "application.http")
+public class OutboundHttpProperties {
+    /** Connections shared by all providers. */
+    private int maxConnections = 200;
+
+    /** How long a request may wait for a free pooled connection. */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    private Map<String, Provider> providers = new LinkedHashMap<>();
+
+    @Data
+    public static class Provider {
+        private String baseUrl;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+
+        /** Retries after the first attempt, applied to idempotent calls only. */
+        private int maxRetries = 2;
+
+        private Duration retryBackoff = Duration.ofMillis(200);
+
+        /** Failure percentage over the sliding window that opens the circuit. */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Time span of the circuit breaker's sliding window. It is time based, so that low-traffic
+         * providers are judged on recent calls rather than on their last hundred.
+         */
+        private Duration slidingWindow = Duration.ofSeconds(60);
+
+        /** Calls needed within the window before the failure rate is evaluated. */
+        private int minimumNumberOfCalls = 10;
+
+        private Duration openStateDuration = Duration.ofSeconds(30);
+    }
+}
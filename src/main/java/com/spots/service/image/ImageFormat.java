@@ -0,0 +1,65 @@
+package com.spots.service.image;
+
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Image formats accepted for upload, recognised by their leading magic bytes. */
+@Getter
+@AllArgsConstructor
+public enum ImageFormat {
+    PNG("png", "image/png"),
+    JPEG("jpg", "image/jpeg"),
+    GIF("gif", "image/gif"),
+    WEBP("webp", "image/webp");
+
+    /** Enough leading bytes to recognise every supported format. */
+    static final int SIGNATURE_LENGTH = 12;
+
+    private final String extension;
+    private final String mediaType;
+
+    static Optional<ImageFormat> detect(byte[] header, int length) {
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return Optional.of(PNG);
+        }
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+            return Optional.of(JPEG);
+        }
+        if (startsWith(header, length, 'G', 'I', 'F', '8')) {
+            return Optional.of(GIF);
+        }
+        if (length >= 12
+                && startsWith(header, length, 'R', 'I', 'F', 'F')
+                && header[8] == 'W'
+                && header[9] == 'E'
+                && header[10] == 'B'
+                && header[11] == 'P') {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    /** Resolves the format of a stored file from its extension. */
+    public static Optional<ImageFormat> fromFileName(String fileName) {
+        final var extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        for (ImageFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] header, int length, int... signature) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
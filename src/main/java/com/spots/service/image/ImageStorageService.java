@@ -0,0 +1,195 @@
+package com.spots.service.image;
+
+import static com.spots.SpotsServicesApplication.IMAGE_DIR;
+
+import jakarta.annotation.PreDestroy;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.ImageIO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Stores uploaded images under the SHA-256 of their content, so uploading the same picture twice
+ * costs nothing and a file name never points at different bytes.
+ *
+ * <p>Uploads are streamed through a fixed buffer into a temporary file while being hashed, then
+ * moved into place. Thumbnails are rendered afterwards on a small background pool.
+ */
+@Service
+public class ImageStorageService {
+    public static final int[] THUMBNAIL_SIZES = {128, 512};
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+    private final Path root;
+    private final Executor thumbnailExecutor;
+    private final long maxSize;
+
+    @Autowired
+    public ImageStorageService(@Value("${application.images.max-size:10MB}") DataSize maxSize) {
+        this(Path.of(IMAGE_DIR), createThumbnailExecutor(), maxSize.toBytes());
+    }
+
+    ImageStorageService(Path root, Executor thumbnailExecutor, long maxSize) {
+        this.root = root;
+        this.thumbnailExecutor = thumbnailExecutor;
+        this.maxSize = maxSize;
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Executor createThumbnailExecutor() {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("thumbnails-");
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (thumbnailExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /** Returns the file name of the variant of {@code imageName} that fits in {@code size} pixels. */
+    public static String thumbnailName(String imageName, int size) {
+        final int dot = imageName.lastIndexOf('.');
+        final var extension = imageName.endsWith(".jpg") ? "jpg" : "png";
+        return imageName.substring(0, dot) + "_" + size + "." + extension;
+    }
+
+    /** Stores the image read from {@code content} and returns its file name. */
+    public String store(InputStream content) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(root, "upload-", ".tmp");
+            final var digest = MessageDigest.getInstance("SHA-256");
+            final var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            final var header = new byte[ImageFormat.SIGNATURE_LENGTH];
+            int headerLength = 0;
+            long size = 0;
+            try (var in = Channels.newChannel(content);
+                    var out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new InvalidImageException("Image is larger than " + maxSize + " bytes");
+                    }
+                    buffer.flip();
+                    if (headerLength < header.length) {
+                        final int n = Math.min(header.length - headerLength, buffer.remaining());
+                        buffer.get(0, header, headerLength, n);
+                        headerLength += n;
+                    }
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            final var format =
+                    ImageFormat.detect(header, headerLength)
+                            .orElseThrow(() -> new InvalidImageException("Unsupported image format"));
+            final var name = HexFormat.of().formatHex(digest.digest()) + "." + format.getExtension();
+            final var target = root.resolve(name);
+            if (!Files.exists(target)) {
+                // Same name means same bytes, so losing a race with an identical upload is harmless.
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                scheduleThumbnails(target, format);
+            }
+            return name;
+        } catch (IOException e) {
+            throw new InvalidImageException("Something went wrong storing the image " + e.getMessage());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    logger.warn("Could not delete temporary upload {}", temp, e);
+                }
+            }
+        }
+    }
+
+    private void scheduleThumbnails(Path image, ImageFormat format) {
+        try {
+            thumbnailExecutor.execute(() -> writeThumbnails(image, format));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Thumbnail queue is full, skipping thumbnails for {}", image.getFileName());
+        }
+    }
+
+    void writeThumbnails(Path image, ImageFormat format) {
+        try {
+            final BufferedImage source = ImageIO.read(image.toFile());
+            if (source == null) {
+                // No ImageIO reader for this format (e.g. WebP); the original is served instead.
+                return;
+            }
+            final int longestSide = Math.max(source.getWidth(), source.getHeight());
+            for (int size : THUMBNAIL_SIZES) {
+                final var target = root.resolve(thumbnailName(image.getFileName().toString(), size));
+                if (longestSide <= size || Files.exists(target)) {
+                    continue;
+                }
+                final double scale = (double) size / longestSide;
+                final int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+                final int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+                final var opaque = format == ImageFormat.JPEG;
+                final var thumbnail =
+                        new BufferedImage(
+                                width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+                final var graphics = thumbnail.createGraphics();
+                graphics.setRenderingHint(
+                        RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(source, 0, 0, width, height, null);
+                graphics.dispose();
+
+                final var temp = Files.createTempFile(root, "thumbnail-", ".tmp");
+                try {
+                    ImageIO.write(thumbnail, opaque ? "jpg" : "png", temp.toFile());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not create thumbnails for {}", image.getFileName(), e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.spots.service.image;
+
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidImageException extends ApiException {
+    public InvalidImageException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,99 @@
+package com.spots.service.mail;
+
+import com.spots.domain.OutboxEmail;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the {@link MailOutbox} in the background.
+ *
+ * <p>Each batch goes to {@link JavaMailSender#send(MimeMessage...)}, which delivers all of its
+ * messages over one SMTP connection instead of connecting per email.
+ */
+@Component
+public class MailDispatcher {
+    private final Logger logger = LoggerFactory.getLogger(MailDispatcher.class);
+    private final MailOutbox mailOutbox;
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final int batchSize;
+
+    public MailDispatcher(
+            MailOutbox mailOutbox,
+            JavaMailSender mailSender,
+            @Value("${application.mail.from:bgspots@gmail.com}") String from,
+            @Value("${application.mail.batch-size:50}") int batchSize) {
+        this.mailOutbox = mailOutbox;
+        this.mailSender = mailSender;
+        this.from = from;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${application.mail.dispatch-interval:PT5S}",
+            initialDelayString = "${application.mail.dispatch-interval:PT5S}")
+    public void dispatch() {
+        List<OutboxEmail> batch;
+        do {
+            batch = mailOutbox.claimBatch(batchSize);
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    void send(List<OutboxEmail> batch) {
+        final Map<MimeMessage, OutboxEmail> messages = new LinkedHashMap<>();
+        for (OutboxEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                mailOutbox.markFailed(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            logger.warn("Could not send {} queued emails", messages.size(), e);
+            messages.values().forEach(email -> mailOutbox.markFailed(email, e));
+            return;
+        }
+        for (var entry : messages.entrySet()) {
+            final var failure = failures.get(entry.getKey());
+            if (failure == null) {
+                mailOutbox.markSent(entry.getValue());
+            } else {
+                logger.warn("Could not send queued email {}", entry.getValue().getId(), failure);
+                mailOutbox.markFailed(entry.getValue(), failure);
+            }
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutboxEmail email) throws MessagingException {
+        final var message = mailSender.createMimeMessage();
+        final var helper = new MimeMessageHelper(message, true);
+        helper.setTo(email.getTo());
+        helper.setFrom(from);
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getHtml(), true);
+        return message;
+    }
+}
@@ -0,0 +1,106 @@
+package com.spots.service.mail;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.spots.domain.OutboxEmail;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Mongo-backed outbox for outgoing email.
+ *
+ * <p>{@link #enqueue} is a plain insert, so inside a {@code @Transactional} method the email is
+ * stored only if the surrounding transaction commits. {@link MailDispatcher} delivers it later.
+ */
+@Service
+public class MailOutbox {
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private final MongoTemplate mongoTemplate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+
+    public MailOutbox(
+            MongoTemplate mongoTemplate,
+            @Value("${application.mail.max-attempts:8}") int maxAttempts,
+            @Value("${application.mail.retry-backoff:PT30S}") Duration retryBackoff,
+            @Value("${application.mail.lease:PT2M}") Duration lease) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+    }
+
+    public void enqueue(String to, String subject, String html) {
+        final var now = LocalDateTime.now();
+        mongoTemplate.insert(
+                OutboxEmail.builder()
+                        .to(to)
+                        .subject(subject)
+                        .html(html)
+                        .status(OutboxEmail.Status.PENDING)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build());
+    }
+
+    /**
+     * Claims up to {@code size} due emails, oldest first. Each claim is an atomic update that pushes
+     * {@code nextAttemptAt} past the lease, so concurrent dispatchers never claim the same email and
+     * an email claimed by a node that dies is picked up again once the lease runs out.
+     */
+    public List<OutboxEmail> claimBatch(int size) {
+        final List<OutboxEmail> batch = new ArrayList<>(size);
+        while (batch.size() < size) {
+            final var now = LocalDateTime.now();
+            final var claimed =
+                    mongoTemplate.findAndModify(
+                            query(
+                                            where("status")
+                                                    .is(OutboxEmail.Status.PENDING)
+                                                    .and("nextAttemptAt")
+                                                    .lte(now))
+                                    .with(Sort.by("nextAttemptAt")),
+                            new Update().set("nextAttemptAt", now.plus(lease)).inc("attempts", 1),
+                            FindAndModifyOptions.options().returnNew(true),
+                            OutboxEmail.class);
+            if (claimed == null) {
+                break;
+            }
+            batch.add(claimed);
+        }
+        return batch;
+    }
+
+    public void markSent(OutboxEmail email) {
+        mongoTemplate.remove(query(where("_id").is(email.getId())), OutboxEmail.class);
+    }
+
+    /** Schedules another attempt with exponential backoff, or gives up after the last attempt. */
+    public void markFailed(OutboxEmail email, Exception error) {
+        final var update = new Update().set("lastError", String.valueOf(error.getMessage()));
+        if (email.getAttempts() >= maxAttempts) {
+            update.set("status", OutboxEmail.Status.FAILED);
+        } else {
+            update.set("nextAttemptAt", LocalDateTime.now().plus(backoff(email.getAttempts())));
+        }
+        mongoTemplate.updateFirst(query(where("_id").is(email.getId())), update, OutboxEmail.class);
+    }
+
+    Duration backoff(int attempts) {
+        final var exponential = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        final var capped = exponential.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : exponential;
+        // Up to 20% jitter so a batch that failed together does not retry together.
+        return capped.plusMillis(ThreadLocalRandom.current().nextLong(capped.toMillis() / 5 + 1));
+    }
+}
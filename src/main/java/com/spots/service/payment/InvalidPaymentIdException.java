@@ -1,7 +1,10 @@
 package com.spots.service.payment;
 
-public class InvalidPaymentIdException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidPaymentIdException extends ApiException {
     public InvalidPaymentIdException(String message) {
-        super(message);
+        super(HttpStatus.NOT_FOUND, message);
     }
 }
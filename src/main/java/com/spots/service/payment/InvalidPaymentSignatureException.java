@@ -0,0 +1,10 @@
+package com.spots.service.payment;
+
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidPaymentSignatureException extends ApiException {
+    public InvalidPaymentSignatureException(String message) {
+        super(HttpStatus.UNAUTHORIZED, message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.spots.service.payment;
+
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class PaymentAlreadyInitiatedException extends ApiException {
+    public PaymentAlreadyInitiatedException(String message) {
+        super(HttpStatus.CONFLICT, message);
+    }
+}
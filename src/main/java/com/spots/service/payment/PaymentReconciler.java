@@ -0,0 +1,29 @@
+package com.spots.service.payment;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Catches up on charges whose OpenNode callback was lost or never delivered. */
+@Component
+@RequiredArgsConstructor
+public class PaymentReconciler {
+    private final Logger logger = LoggerFactory.getLogger(PaymentReconciler.class);
+    private final PaymentService paymentService;
+
+    @Value("${application.payments.reconcile-batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(
+            fixedDelayString = "${application.payments.reconcile-interval:PT1M}",
+            initialDelayString = "${application.payments.reconcile-interval:PT1M}")
+    public void reconcile() {
+        final Long checked = paymentService.reconcile(batchSize).block();
+        if (checked != null && checked > 0) {
+            logger.debug("Reconciled {} pending charges", checked);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.spots.service.payment;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,4 +11,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class PaymentRequest {
     private long amount;
+
+    @JsonProperty("callback_url")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private String callbackUrl;
 }
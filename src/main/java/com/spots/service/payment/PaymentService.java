@@ -1,106 +1,215 @@
 package com.spots.service.payment;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.spots.common.input.PaymentCallbackBody;
 import com.spots.domain.Payment;
 import com.spots.repository.PaymentRepository;
-import com.spots.service.auth.JwtService;
 import com.spots.service.common.SequenceGeneratorService;
+import com.spots.service.http.OutboundHttpClients;
 import com.spots.service.user.UserService;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+/**
+ * Payments for extra random spot rolls. OpenNode is called without blocking; the repository work
+ * around each call runs on the bounded elastic scheduler so no request thread waits on either.
+ *
+ * <p>Charge status arrives through OpenNode's signed callbacks and, for callbacks that never
+ * come, from {@link #reconcile}; reads are answered from Mongo alone.
+ */
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
+    /** OpenNode statuses after which a charge never changes again. */
+    private static final List<String> FINAL_STATUSES = List.of("paid", "expired", "refunded");
+
+    private static final List<String> PENDING_STATUSES = List.of("unpaid", "processing", "underpaid");
+    private static final int RECONCILE_CONCURRENCY = 4;
+    private final Logger logger = LoggerFactory.getLogger(PaymentService.class);
     private final PaymentRepository paymentRepository;
     private final SequenceGeneratorService sequenceGeneratorService;
-    private final JwtService jwtService;
     private final UserService userService;
-    private final String url = "https://api.opennode.com/v1/charges/";
-    private final String urlv2Api = "https://api.opennode.com/v2/charge/";
-    private final String apiKey = "e92064ab-0799-467c-8876-25bb1a393422";
-
-    @Transactional
-    public long initiatePayment(int sats, boolean isAd, String jwt) {
-        final var user = userService.getUser(jwtService.extractEmail(jwt));
-        if (isAd) {
-            final var paymentOptional = paymentRepository.findPaymentByUserId(user.getId());
-            if (paymentOptional.isPresent()) {
-                if (!paymentOptional.get().isUsed())
-                    throw new InvalidPaymentIdException("This user already initiated payment!");
-                else
-                    throw new InvalidPaymentIdException(
-                            "Payment is already finalised. New random spot is generated already");
-            }
-            final var payment =
-                    Payment.builder()
-                            .id(sequenceGeneratorService.generateSequence(Payment.SEQUENCE_NAME))
-                            .userId(user.getId())
-                            .isAdWatched(true)
-                            .build();
-            paymentRepository.insert(payment);
-            return payment.getId();
-
-        } else {
-            final var paymentOptional = paymentRepository.findPaymentByUserId(user.getId());
-            if (paymentOptional.isPresent()) {
-                if (!paymentOptional.get().isUsed())
-                    throw new InvalidPaymentIdException("This user already initiated payment!");
-                else
-                    throw new InvalidPaymentIdException(
-                            "Payment is already finalised. New random spot is generated already");
-            }
-            PaymentRequest paymentRequest = new PaymentRequest(1);
-            WebClient webClient = WebClient.create();
-            final var paymentCharge =
-                    webClient
-                            .post()
-                            .uri(url)
-                            .body(BodyInserters.fromValue(paymentRequest))
-                            .header("Content-Type", "application/json")
-                            .header("accept", "application/json")
-                            .header("Authorization", apiKey)
-                            .retrieve()
-                            .bodyToMono(PaymentCharge.class)
-                            .block();
-
-            final var payment =
-                    Payment.builder()
-                            .id(sequenceGeneratorService.generateSequence(Payment.SEQUENCE_NAME))
-                            .opennodeId(paymentCharge.getData().getId())
-                            .userId(user.getId())
-                            .status(paymentCharge.getData().getStatus())
-                            .sats(sats)
-                            .uri(paymentCharge.getData().getUri())
-                            .lightningInvoice(paymentCharge.getData().getLightning_invoice().getPayreq())
-                            .build();
-            paymentRepository.insert(payment);
-            return payment.getId();
+    private final OutboundHttpClients outboundHttpClients;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${application.payments.opennode-api-key}")
+    private String apiKey;
+
+    @Value("${application.payments.callback-url:}")
+    private String callbackUrl;
+
+    public Mono<Long> initiatePayment(int sats, boolean isAd, String email) {
+        return Mono.fromCallable(() -> openPaymentFor(email))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(userId -> isAd ? insertAdPayment(userId) : createCharge(userId, sats));
+    }
+
+    private long openPaymentFor(String email) {
+        final var user = userService.getUser(email);
+        final var paymentOptional = paymentRepository.findPaymentByUserId(user.getId());
+        if (paymentOptional.isPresent()) {
+            if (!paymentOptional.get().isUsed())
+                throw new PaymentAlreadyInitiatedException("This user already initiated payment!");
+            else
+                throw new PaymentAlreadyInitiatedException(
+                        "Payment is already finalised. New random spot is generated already");
         }
+        return user.getId();
+    }
+
+    private Mono<Long> insertAdPayment(long userId) {
+        return Mono.fromCallable(
+                () -> {
+                    final var payment =
+                            Payment.builder()
+                                    .id(sequenceGeneratorService.generateSequence(Payment.SEQUENCE_NAME))
+                                    .userId(userId)
+                                    .isAdWatched(true)
+                                    .build();
+                    paymentRepository.insert(payment);
+                    return payment.getId();
+                });
+    }
+
+    private Mono<Long> createCharge(long userId, int sats) {
+        // Creating a charge is not idempotent, so it is sent once and never retried.
+        return outboundHttpClients
+                .get(OutboundHttpClients.OPENNODE)
+                .send(
+                        client ->
+                                client
+                                        .post()
+                                        .uri("/v1/charges")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .accept(MediaType.APPLICATION_JSON)
+                                        .header(HttpHeaders.AUTHORIZATION, apiKey)
+                                        .bodyValue(new PaymentRequest(1, callbackUrl))
+                                        .retrieve()
+                                        .bodyToMono(PaymentCharge.class))
+                .publishOn(Schedulers.boundedElastic())
+                .map(
+                        paymentCharge -> {
+                            final var payment =
+                                    Payment.builder()
+                                            .id(sequenceGeneratorService.generateSequence(Payment.SEQUENCE_NAME))
+                                            .opennodeId(paymentCharge.getData().getId())
+                                            .userId(userId)
+                                            .status(paymentCharge.getData().getStatus())
+                                            .statusCheckedAt(LocalDateTime.now())
+                                            .sats(sats)
+                                            .uri(paymentCharge.getData().getUri())
+                                            .lightningInvoice(
+                                                    paymentCharge.getData().getLightning_invoice().getPayreq())
+                                            .build();
+                            paymentRepository.insert(payment);
+                            return payment.getId();
+                        });
     }
 
-    @Transactional
     public Payment getPayment(Long userId) {
-        final var payment =
-                paymentRepository
-                        .findPaymentByUserId(userId)
-                        .orElseThrow(() -> new InvalidPaymentIdException("Invalid user id"));
-
-        WebClient webClient = WebClient.create();
-        final var paymentData =
-                webClient
-                        .get()
-                        .uri(urlv2Api + payment.getOpennodeId())
-                        .header("Content-Type", "application/json")
-                        .header("accept", "application/json")
-                        .header("Authorization", apiKey)
-                        .retrieve()
-                        .bodyToMono(PaymentData.class)
-                        .block();
-        payment.setStatus(paymentData.getData().getStatus());
-        paymentRepository.save(payment);
-        return payment;
+        return paymentRepository
+                .findPaymentByUserId(userId)
+                .orElseThrow(() -> new InvalidPaymentIdException("Invalid user id"));
+    }
+
+    /** Applies a charge callback after checking that OpenNode signed it with our API key. */
+    public void handleCallback(PaymentCallbackBody callback) {
+        if (callback.getId() == null
+                || callback.getHashed_order() == null
+                || !MessageDigest.isEqual(
+                        sign(callback.getId()).getBytes(StandardCharsets.US_ASCII),
+                        callback.getHashed_order().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII))) {
+            throw new InvalidPaymentSignatureException("Invalid payment callback signature");
+        }
+        updateStatus(callback.getId(), callback.getStatus());
+    }
+
+    String sign(String chargeId) {
+        try {
+            final var mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(apiKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(chargeId.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Records {@code status} for a charge unless it has already reached a final status, so repeated
+     * or out-of-order deliveries cannot move a paid charge back to pending.
+     */
+    void updateStatus(String opennodeId, String status) {
+        mongoTemplate.updateFirst(
+                query(where("opennodeId").is(opennodeId).and("status").nin(FINAL_STATUSES)),
+                new Update().set("status", status).set("statusCheckedAt", LocalDateTime.now()),
+                Payment.class);
+    }
+
+    /**
+     * Re-reads up to {@code batchSize} pending charges from OpenNode, least recently checked first,
+     * and returns how many were checked. Charges that fail to load are left for the next run.
+     */
+    public Mono<Long> reconcile(int batchSize) {
+        return Mono.fromCallable(
+                        () ->
+                                mongoTemplate.find(
+                                        query(where("opennodeId").ne(null).and("status").in(PENDING_STATUSES))
+                                                .with(Sort.by(Sort.Direction.ASC, "statusCheckedAt"))
+                                                .limit(batchSize),
+                                        Payment.class))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(Flux::fromIterable)
+                .flatMap(
+                        payment ->
+                                fetchStatus(payment.getOpennodeId())
+                                        .map(status -> Map.entry(payment.getOpennodeId(), status))
+                                        .onErrorResume(
+                                                error -> {
+                                                    logger.warn(
+                                                            "Could not reconcile charge {}", payment.getOpennodeId(), error);
+                                                    return Mono.empty();
+                                                }),
+                        RECONCILE_CONCURRENCY)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(status -> updateStatus(status.getKey(), status.getValue()))
+                .count();
+    }
+
+    private Mono<String> fetchStatus(String opennodeId) {
+        return outboundHttpClients
+                .get(OutboundHttpClients.OPENNODE)
+                .retrieve(
+                        client ->
+                                client
+                                        .get()
+                                        .uri("/v2/charge/{id}", opennodeId)
+                                        .accept(MediaType.APPLICATION_JSON)
+                                        .header(HttpHeaders.AUTHORIZATION, apiKey)
+                                        .retrieve()
+                                        .bodyToMono(PaymentData.class))
+                .map(paymentData -> paymentData.getData().getStatus());
     }
 }
@@ -1,7 +1,10 @@
 package com.spots.service.spots;
 
-public class InvalidReviewIdException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidReviewIdException extends ApiException {
     public InvalidReviewIdException(String message) {
-        super(message);
+        super(HttpStatus.NOT_FOUND, message);
     }
 }
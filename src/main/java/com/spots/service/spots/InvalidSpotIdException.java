@@ -1,7 +1,10 @@
 package com.spots.service.spots;
 
-public class InvalidSpotIdException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidSpotIdException extends ApiException {
     public InvalidSpotIdException(String message) {
-        super(message);
+        super(HttpStatus.NOT_FOUND, message);
     }
 }
@@ -1,7 +1,10 @@
 package com.spots.service.spots;
 
-public class InvalidSpotNameException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidSpotNameException extends ApiException {
     public InvalidSpotNameException(String message) {
-        super(message);
+        super(HttpStatus.CONFLICT, message);
     }
 }
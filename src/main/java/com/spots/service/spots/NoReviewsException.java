@@ -1,7 +0,0 @@
-package com.spots.service.spots;
-
-public class NoReviewsException extends RuntimeException {
-    public NoReviewsException(String message) {
-        super(message);
-    }
-}
@@ -1,7 +1,10 @@
 package com.spots.service.spots;
 
-public class RandomSpotIsNotAvailableYet extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class RandomSpotIsNotAvailableYet extends ApiException {
     public RandomSpotIsNotAvailableYet(String message) {
-        super(message);
+        super(HttpStatus.CONFLICT, message);
     }
 }
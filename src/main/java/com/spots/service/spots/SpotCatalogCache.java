@@ -0,0 +1,204 @@
+package com.spots.service.spots;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spots.domain.Spot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Read-through cache of spots by id: a bounded in-process map in front of an optional shared Redis
+ * tier ({@code application.spots.cache.redis}) in front of Mongo.
+ *
+ * <p>After a write to a spot commits, its entry is dropped from both tiers and the id is broadcast
+ * on {@value #CHANNEL} so the other nodes drop their in-process copy too. The in-process entries
+ * also expire after {@code ttl}, which bounds staleness from a read that raced a write.
+ *
+ * <p>An invalidation also bumps the spot's {@code spot-version:<id>} counter in Redis. A node that
+ * loaded a spot from Mongo writes it back only if the counter still holds the value read before
+ * the load, so a copy read before another node's write committed never outlives the invalidation
+ * in the shared tier. Hit, miss and eviction counts are published as {@code
+ * cache.*{cache=spots}}, Redis tier lookups as {@code spots.cache.redis{result=hit|miss}}.
+ */
+@Component
+public class SpotCatalogCache {
+    public static final String CHANNEL = "spot-invalidations";
+    private static final String KEY_PREFIX = "spot:";
+    private static final String VERSION_PREFIX = "spot-version:";
+    private static final RedisScript<Long> WRITE_IF_CURRENT =
+            new DefaultRedisScript<>(
+                    "if (redis.call('GET', KEYS[1]) or '0') == ARGV[1] then"
+                            + " redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3]) return 1 end"
+                            + " return 0",
+                    Long.class);
+    private static final JsonWriterSettings JSON =
+            JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+    private final Logger logger = LoggerFactory.getLogger(SpotCatalogCache.class);
+    private final MongoTemplate mongoTemplate;
+    private final RedisTemplate<String, String> redis;
+    private final Cache<Long, Spot> spots;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public SpotCatalogCache(
+            MongoTemplate mongoTemplate,
+            RedisTemplate<String, String> redis,
+            MeterRegistry meterRegistry,
+            @Value("${application.spots.cache.max-size:10000}") long maxSize,
+            @Value("${application.spots.cache.ttl:10m}") Duration ttl,
+            @Value("${application.spots.cache.redis:false}") boolean redisEnabled,
+            @Value("${application.spots.cache.redis-ttl:1h}") Duration redisTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.redis = redis;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        this.spots =
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, spots, "spots");
+        this.redisHits = meterRegistry.counter("spots.cache.redis", "result", "hit");
+        this.redisMisses = meterRegistry.counter("spots.cache.redis", "result", "miss");
+    }
+
+    public Optional<Spot> get(long spotId) {
+        return Optional.ofNullable(getAll(List.of(spotId)).get(spotId));
+    }
+
+    /** Returns the spots that exist among {@code spotIds}; missing ids are left out. */
+    public Map<Long, Spot> getAll(Collection<Long> spotIds) {
+        return spots.getAll(spotIds, this::load);
+    }
+
+    public void invalidate(long spotId) {
+        spots.invalidate(spotId);
+        try {
+            if (redisEnabled) {
+                // Bumped before the delete, so a racing load cannot write back in between.
+                redis.opsForValue().increment(VERSION_PREFIX + spotId);
+                redis.expire(VERSION_PREFIX + spotId, redisTtl);
+                redis.delete(KEY_PREFIX + spotId);
+            }
+            redis.convertAndSend(CHANNEL, Long.toString(spotId));
+        } catch (DataAccessException e) {
+            logger.warn("Could not broadcast invalidation of spot {}", spotId, e);
+        }
+    }
+
+    /** Handles an invalidation broadcast by any node, this one included. */
+    public void onInvalidated(String spotId) {
+        spots.invalidate(Long.parseLong(spotId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotUpdated(SpotUpdatedEvent event) {
+        invalidate(event.getSpotId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotDeleted(SpotDeletedEvent event) {
+        invalidate(event.getSpotId());
+    }
+
+    private Map<Long, Spot> load(Set<? extends Long> spotIds) {
+        final Map<Long, Spot> loaded = new HashMap<>();
+        final List<Long> missing = new ArrayList<>(spotIds);
+        Map<Long, String> versions = Map.of();
+        if (redisEnabled) {
+            versions = readFromRedis(missing, loaded);
+            missing.removeAll(loaded.keySet());
+        }
+        if (!missing.isEmpty()) {
+            final var fromMongo = mongoTemplate.find(query(where("_id").in(missing)), Spot.class);
+            for (Spot spot : fromMongo) {
+                loaded.put(spot.getId(), spot);
+            }
+            if (redisEnabled) {
+                writeToRedis(fromMongo, versions);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Reads the cached spots and, in the same round trip, the version counters that a later write
+     * back is conditioned on. Returns the versions; ids without one are not written back.
+     */
+    private Map<Long, String> readFromRedis(List<Long> spotIds, Map<Long, Spot> loaded) {
+        final Map<Long, String> versions = new HashMap<>();
+        try {
+            final List<String> keys = new ArrayList<>(spotIds.size() * 2);
+            spotIds.forEach(id -> keys.add(KEY_PREFIX + id));
+            spotIds.forEach(id -> keys.add(VERSION_PREFIX + id));
+            final var values = redis.opsForValue().multiGet(keys);
+            if (values == null) {
+                return versions;
+            }
+            for (int i = 0; i < spotIds.size(); i++) {
+                final var json = values.get(i);
+                final var version = values.get(spotIds.size() + i);
+                versions.put(spotIds.get(i), version == null ? "0" : version);
+                if (json == null) {
+                    redisMisses.increment();
+                } else {
+                    redisHits.increment();
+                    loaded.put(
+                            spotIds.get(i), mongoTemplate.getConverter().read(Spot.class, Document.parse(json)));
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Spot lookup in Redis failed, falling back to Mongo", e);
+        }
+        return versions;
+    }
+
+    private void writeToRedis(List<Spot> loaded, Map<Long, String> versions) {
+        try {
+            for (Spot spot : loaded) {
+                final var version = versions.get(spot.getId());
+                if (version == null) {
+                    continue;
+                }
+                final var document = new Document();
+                mongoTemplate.getConverter().write(spot, document);
+                redis.execute(
+                        WRITE_IF_CURRENT,
+                        List.of(VERSION_PREFIX + spot.getId(), KEY_PREFIX + spot.getId()),
+                        version,
+                        document.toJson(JSON),
+                        Long.toString(redisTtl.toMillis()));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not cache spots in Redis", e);
+        }
+    }
+}
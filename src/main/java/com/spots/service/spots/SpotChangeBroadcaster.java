@@ -0,0 +1,66 @@
+package com.spots.service.spots;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fans spot creations and deletions out to every node on {@value #CHANNEL}, so the node-local
+ * {@link SpotIdIndex} and {@link SpotGeoIndex} follow writes made anywhere in the cluster.
+ *
+ * <p>Messages are {@code created:<id>} or {@code deleted:<id>}. The publishing node receives its
+ * own message too; applying it again is a no-op.
+ */
+@Component
+public class SpotChangeBroadcaster {
+    public static final String CHANNEL = "spot-changes";
+    private static final String CREATED = "created:";
+    private static final String DELETED = "deleted:";
+    private final Logger logger = LoggerFactory.getLogger(SpotChangeBroadcaster.class);
+    private final RedisTemplate<String, String> redis;
+    private final SpotIdIndex spotIdIndex;
+    private final SpotGeoIndex spotGeoIndex;
+
+    public SpotChangeBroadcaster(
+            RedisTemplate<String, String> redis, SpotIdIndex spotIdIndex, SpotGeoIndex spotGeoIndex) {
+        this.redis = redis;
+        this.spotIdIndex = spotIdIndex;
+        this.spotGeoIndex = spotGeoIndex;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        publish(CREATED + event.getSpot().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotDeleted(SpotDeletedEvent event) {
+        publish(DELETED + event.getSpotId());
+    }
+
+    /** Handles a change broadcast by any node, this one included. */
+    public void onMessage(String message) {
+        if (message.startsWith(CREATED)) {
+            final long spotId = Long.parseLong(message.substring(CREATED.length()));
+            spotIdIndex.add(spotId);
+            spotGeoIndex.addFromStore(spotId);
+        } else if (message.startsWith(DELETED)) {
+            final long spotId = Long.parseLong(message.substring(DELETED.length()));
+            spotIdIndex.remove(spotId);
+            spotGeoIndex.remove(spotId);
+        } else {
+            logger.warn("Ignoring unknown spot change message {}", message);
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            redis.convertAndSend(CHANNEL, message);
+        } catch (DataAccessException e) {
+            logger.warn("Could not broadcast spot change {}", message, e);
+        }
+    }
+}
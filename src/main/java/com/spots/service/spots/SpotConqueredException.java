@@ -1,7 +1,10 @@
 package com.spots.service.spots;
 
-public class SpotConqueredException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class SpotConqueredException extends ApiException {
     public SpotConqueredException(String message) {
-        super(message);
+        super(HttpStatus.CONFLICT, message);
     }
 }
@@ -0,0 +1,12 @@
+package com.spots.service.spots;
+
+import com.spots.domain.Spot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Published by {@link SpotsService} once a spot has been inserted. */
+@Getter
+@AllArgsConstructor
+public class SpotCreatedEvent {
+    private final Spot spot;
+}
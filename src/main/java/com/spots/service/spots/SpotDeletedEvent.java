@@ -0,0 +1,11 @@
+package com.spots.service.spots;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Published by {@link SpotsService} once a spot has been deleted. */
+@Getter
+@AllArgsConstructor
+public class SpotDeletedEvent {
+    private final long spotId;
+}
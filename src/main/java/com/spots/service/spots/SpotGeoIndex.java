@@ -0,0 +1,309 @@
+package com.spots.service.spots;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.spots.domain.Spot;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory grid of spot coordinates for radius and k-nearest queries.
+ *
+ * <p>The globe is cut into fixed {@value #CELL_DEGREES} degree cells (about 5.5 km of latitude).
+ * A query only visits the cells overlapping the search circle's bounding box and filters the
+ * candidates by great-circle distance. Spots created or deleted on other nodes arrive through
+ * {@link SpotChangeBroadcaster}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpotGeoIndex {
+    static final double CELL_DEGREES = 0.05;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final double INITIAL_KNN_RADIUS_KM = 5;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Long> spotCells = new HashMap<>();
+    private volatile boolean ready;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final long spotId;
+        private final double distanceKm;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        final var query = new Query();
+        query.fields().include("_id").include("location").include("position");
+        final List<Document> missingPosition = new ArrayList<>();
+        try (var spots =
+                mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Spot.class))) {
+            spots.forEach(
+                    spot -> {
+                        final var location = spot.get("location", Document.class);
+                        if (location == null) {
+                            return;
+                        }
+                        final long spotId = ((Number) spot.get("_id")).longValue();
+                        final double latitude = ((Number) location.get("latitude")).doubleValue();
+                        final double longitude = ((Number) location.get("longitude")).doubleValue();
+                        add(spotId, latitude, longitude);
+                        if (spot.get("position") == null) {
+                            missingPosition.add(spot);
+                            if (missingPosition.size() == BACKFILL_BATCH_SIZE) {
+                                backfillPositions(missingPosition);
+                            }
+                        }
+                    });
+        }
+        backfillPositions(missingPosition);
+        ready = true;
+    }
+
+    /** Writes the GeoJSON point the 2dsphere index needs for spots created before it existed. */
+    private void backfillPositions(List<Document> spots) {
+        if (spots.isEmpty()) {
+            return;
+        }
+        final var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Spot.class);
+        for (Document spot : spots) {
+            final var location = spot.get("location", Document.class);
+            final var position =
+                    new GeoJsonPoint(
+                            ((Number) location.get("longitude")).doubleValue(),
+                            ((Number) location.get("latitude")).doubleValue());
+            bulk.updateOne(query(where("_id").is(spot.get("_id"))), Update.update("position", position));
+        }
+        bulk.execute();
+        spots.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        final var spot = event.getSpot();
+        if (spot.getLocation() != null) {
+            add(spot.getId(), spot.getLocation().getLatitude(), spot.getLocation().getLongitude());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotDeleted(SpotDeletedEvent event) {
+        remove(event.getSpotId());
+    }
+
+    /** Adds a spot created on another node, reading its location since the broadcast omits it. */
+    public void addFromStore(long spotId) {
+        lock.readLock().lock();
+        try {
+            if (spotCells.containsKey(spotId)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        final var query = query(where("_id").is(spotId));
+        query.fields().include("location");
+        final var spot =
+                mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(Spot.class));
+        final var location = spot == null ? null : spot.get("location", Document.class);
+        if (location != null) {
+            add(
+                    spotId,
+                    ((Number) location.get("latitude")).doubleValue(),
+                    ((Number) location.get("longitude")).doubleValue());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(long spotId, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(spotId);
+            final long key = cellKey(latitudeCell(latitude), longitudeCell(longitude));
+            cells.computeIfAbsent(key, k -> new Cell()).add(spotId, latitude, longitude);
+            spotCells.put(spotId, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long spotId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(spotId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long spotId) {
+        final Long key = spotCells.remove(spotId);
+        if (key == null) {
+            return;
+        }
+        final var cell = cells.get(key);
+        cell.remove(spotId);
+        if (cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    /** Returns up to {@code limit} spots within {@code radiusKm}, nearest first. */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        lock.readLock().lock();
+        try {
+            return searchLocked(latitude, longitude, radiusKm, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the {@code k} spots nearest to the given point, nearest first. */
+    public List<Hit> nearest(double latitude, double longitude, int k) {
+        lock.readLock().lock();
+        try {
+            // Once k hits are inside a circle, the k nearest spots overall are inside it too.
+            double radiusKm = INITIAL_KNN_RADIUS_KM;
+            while (true) {
+                final var hits = searchLocked(latitude, longitude, radiusKm, k);
+                if (hits.size() >= k || radiusKm >= Math.PI * EARTH_RADIUS_KM) {
+                    return hits;
+                }
+                radiusKm *= 4;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> searchLocked(double latitude, double longitude, double radiusKm, int limit) {
+        final List<Hit> hits = new ArrayList<>();
+        final double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        final int minLatCell = latitudeCell(Math.max(-90, latitude - latitudeSpan));
+        final int maxLatCell = latitudeCell(Math.min(90, latitude + latitudeSpan));
+        final double widestLatitude =
+                Math.min(
+                        89.99,
+                        Math.max(Math.abs(latitude - latitudeSpan), Math.abs(latitude + latitudeSpan)));
+        final double longitudeSpan =
+                radiusKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(widestLatitude)));
+        final int lonCellSpan =
+                longitudeSpan >= 180 ? LON_CELLS : (int) Math.ceil(longitudeSpan / CELL_DEGREES);
+        final int lonCells = (int) Math.min(LON_CELLS, 2L * lonCellSpan + 1);
+        final long boxCells = (long) (maxLatCell - minLatCell + 1) * lonCells;
+
+        if (boxCells > cells.size()) {
+            // Wide searches touch fewer cells by walking only the populated ones.
+            for (Cell cell : cells.values()) {
+                cell.collect(latitude, longitude, radiusKm, hits);
+            }
+        } else {
+            final int firstLonCell =
+                    lonCells == LON_CELLS ? 0 : longitudeCell(longitude) - lonCellSpan;
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int i = 0; i < lonCells; i++) {
+                    final int lonCell = Math.floorMod(firstLonCell + i, LON_CELLS);
+                    final var cell = cells.get(cellKey(latCell, lonCell));
+                    if (cell != null) {
+                        cell.collect(latitude, longitude, radiusKm, hits);
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    private static int latitudeCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        final double dLat = Math.toRadians(lat2 - lat1);
+        final double dLon = Math.toRadians(lon2 - lon1);
+        final double a =
+                Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                        + Math.cos(Math.toRadians(lat1))
+                                * Math.cos(Math.toRadians(lat2))
+                                * Math.sin(dLon / 2)
+                                * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static final class Cell {
+        private long[] ids = new long[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private int size;
+
+        private void add(long spotId, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            ids[size] = spotId;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        private void remove(long spotId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == spotId) {
+                    size--;
+                    ids[i] = ids[size];
+                    latitudes[i] = latitudes[size];
+                    longitudes[i] = longitudes[size];
+                    return;
+                }
+            }
+        }
+
+        private void collect(double latitude, double longitude, double radiusKm, List<Hit> hits) {
+            for (int i = 0; i < size; i++) {
+                final double distance = distanceKm(latitude, longitude, latitudes[i], longitudes[i]);
+                if (distance <= radiusKm) {
+                    hits.add(new Hit(ids[i], distance));
+                }
+            }
+        }
+    }
+}
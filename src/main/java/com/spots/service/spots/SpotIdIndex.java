@@ -0,0 +1,147 @@
+package com.spots.service.spots;
+
+import com.spots.domain.Spot;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-process index of live spot ids used to pick random spots without touching the database.
+ *
+ * <p>Ids are kept densely packed in a {@code long[]}; removal swaps the last id into the freed
+ * slot, so picking is a single array read and the id gaps left by deleted spots never matter.
+ * Spots created or deleted on other nodes arrive through {@link SpotChangeBroadcaster}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpotIdIndex {
+    private static final int REJECTION_ATTEMPTS = 8;
+    private final MongoTemplate mongoTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private long[] ids = new long[64];
+    private int size;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        final var query = new Query();
+        query.fields().include("_id");
+        try (var spots =
+                mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Spot.class))) {
+            spots.forEach(spot -> add(((Number) spot.get("_id")).longValue()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotCreated(SpotCreatedEvent event) {
+        add(event.getSpot().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotDeleted(SpotDeletedEvent event) {
+        remove(event.getSpotId());
+    }
+
+    public void add(long spotId) {
+        lock.writeLock().lock();
+        try {
+            if (positions.containsKey(spotId)) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = spotId;
+            positions.put(spotId, size++);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long spotId) {
+        lock.writeLock().lock();
+        try {
+            final Integer position = positions.remove(spotId);
+            if (position == null) {
+                return;
+            }
+            final long last = ids[--size];
+            if (position != size) {
+                ids[position] = last;
+                positions.put(last, position);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Picks a spot id uniformly at random among the ids that are not in {@code excluded}.
+     *
+     * <p>A few rejection samples cover the common case where the user has conquered only a small
+     * part of the catalog. After that the pick is made exactly by skipping over the sorted slots of
+     * the excluded ids, which costs O(c log c) in the number of excluded ids rather than a scan.
+     */
+    public OptionalLong randomSpotId(Set<Long> excluded) {
+        lock.readLock().lock();
+        try {
+            if (size == 0) {
+                return OptionalLong.empty();
+            }
+            final var random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < REJECTION_ATTEMPTS; attempt++) {
+                final long spotId = ids[random.nextInt(size)];
+                if (!excluded.contains(spotId)) {
+                    return OptionalLong.of(spotId);
+                }
+            }
+            final int[] excludedSlots =
+                    excluded.stream()
+                            .map(positions::get)
+                            .filter(Objects::nonNull)
+                            .mapToInt(Integer::intValue)
+                            .sorted()
+                            .toArray();
+            final int available = size - excludedSlots.length;
+            if (available <= 0) {
+                return OptionalLong.empty();
+            }
+            int slot = random.nextInt(available);
+            for (int excludedSlot : excludedSlots) {
+                if (excludedSlot > slot) {
+                    break;
+                }
+                slot++;
+            }
+            return OptionalLong.of(ids[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.spots.service.spots;
 
-public class SpotRerollAlreadyUsed extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class SpotRerollAlreadyUsed extends ApiException {
     public SpotRerollAlreadyUsed(String message) {
-        super(message);
+        super(HttpStatus.CONFLICT, message);
     }
 }
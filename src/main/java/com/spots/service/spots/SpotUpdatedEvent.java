@@ -0,0 +1,11 @@
+package com.spots.service.spots;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Published by {@link SpotsService} when a stored spot or its rating totals change. */
+@Getter
+@AllArgsConstructor
+public class SpotUpdatedEvent {
+    private final long spotId;
+}
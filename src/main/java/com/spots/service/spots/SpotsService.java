@@ -1,23 +1,44 @@
 package com.spots.service.spots;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spots.common.Cursors;
 import com.spots.common.GenericValidator;
 import com.spots.common.input.ReviewBody;
 import com.spots.common.input.SpotDto;
+import com.spots.common.output.CursorPage;
+import com.spots.common.output.NearbySpot;
 import com.spots.config.InvalidJwtTokenException;
 import com.spots.domain.*;
 import com.spots.repository.PaymentRepository;
 import com.spots.repository.ReviewRepository;
 import com.spots.repository.SpotsRepository;
 import com.spots.repository.UserRepository;
-import com.spots.service.auth.JwtService;
+import com.spots.service.auth.InvalidInputException;
 import com.spots.service.common.SequenceGeneratorService;
 import com.spots.service.user.InvalidUserException;
+import com.spots.service.user.UserChangedEvent;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,16 +48,27 @@ public class SpotsService {
 
     public static final String SPOT_WITH_THIS_ID_DOESN_T_EXISTS = "Spot with this id doesn't exists!";
     public static final String USER_WITH_THIS_ID_DOESN_T_EXISTS = "User with this id doesn't exists!";
+    // Stackless and immutable, so the not-found paths can throw one shared instance each.
+    private static final InvalidSpotIdException SPOT_NOT_FOUND =
+            new InvalidSpotIdException(SPOT_WITH_THIS_ID_DOESN_T_EXISTS);
+    private static final InvalidReviewIdException REVIEW_NOT_FOUND =
+            new InvalidReviewIdException("Review with this id doesn't exists!");
+    private static final int MAX_NEARBY_SPOTS = 100;
+    private static final int MAX_SPOTS_PAGE_SIZE = 500;
+    private static final int MAX_REVIEWS_PAGE_SIZE = 50;
     private final SpotsRepository spotsRepository;
-    private final GenericValidator<Spot> spotValidator = new GenericValidator<>();
-    private final GenericValidator<Review> reviewValidator = new GenericValidator<>();
+    private final GenericValidator validator;
     private final UserRepository userRepository;
 
-    private final JwtService jwtService;
     private final ReviewRepository reviewRepository;
     private final PaymentRepository paymentRepository;
     private final SequenceGeneratorService sequenceGeneratorService;
-    private final Random random = new Random();
+    private final SpotIdIndex spotIdIndex;
+    private final SpotGeoIndex spotGeoIndex;
+    private final SpotCatalogCache spotCatalogCache;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void createSpot(SpotDto spotDto) {
@@ -50,54 +82,138 @@ public class SpotsService {
                         .id(sequenceGeneratorService.generateSequence(Spot.SEQUENCE_NAME))
                         .name(spotDto.getName())
                         .location(location)
+                        .position(new GeoJsonPoint(location.getLongitude(), location.getLatitude()))
                         .overallRating(1)
                         .description(spotDto.getDescription())
                         .imageName(spotDto.getImageName())
                         .build();
-        spotValidator.validate(spot);
+        validator.validate(spot);
         if (spotsRepository.existsSpotByName(spot.getName())) {
             throw new InvalidSpotNameException("Spot with this name already exists!");
         }
         spotsRepository.insert(spot);
+        eventPublisher.publishEvent(new SpotCreatedEvent(spot));
     }
 
     @Transactional
     public void updateSpot(SpotDto spotDto) {
-        Spot spot =
-                spotsRepository
-                        .findById(spotDto.getId())
-                        .orElseThrow(() -> new InvalidSpotIdException(SPOT_WITH_THIS_ID_DOESN_T_EXISTS));
-        spot.setDescription(spotDto.getDescription());
-        spotsRepository.save(spot);
+        // A targeted $set, so a concurrent review's $inc on the rating totals is never overwritten.
+        final var result =
+                mongoTemplate.updateFirst(
+                        query(where("_id").is(spotDto.getId())),
+                        Update.update("description", spotDto.getDescription()),
+                        Spot.class);
+        if (result.getMatchedCount() == 0) {
+            throw SPOT_NOT_FOUND;
+        }
+        eventPublisher.publishEvent(new SpotUpdatedEvent(spotDto.getId()));
     }
 
     @Transactional
     public void deleteSpot(Long spotId) {
-        if (!spotsRepository.existsSpotById(spotId)) {
-            throw new InvalidSpotIdException(SPOT_WITH_THIS_ID_DOESN_T_EXISTS);
+        if (!spotsRepository.existsById(spotId)) {
+            throw SPOT_NOT_FOUND;
         }
         spotsRepository.deleteById(spotId);
+        eventPublisher.publishEvent(new SpotDeletedEvent(spotId));
     }
 
-    @Transactional
-    public List<Spot> getSpots() {
-        return spotsRepository.findAll();
+    public CursorPage<Spot> getSpots(String cursor, int limit) {
+        final int cappedLimit = Math.max(1, Math.min(limit, MAX_SPOTS_PAGE_SIZE));
+        final long afterId = cursor == null ? Long.MIN_VALUE : Cursors.decode(cursor);
+        // Only ids come from Mongo, answered from the _id index alone; bodies come from the cache.
+        final var idQuery =
+                query(where("_id").gt(afterId))
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(cappedLimit);
+        idQuery.fields().include("_id");
+        final List<Long> spotIds =
+                mongoTemplate
+                        .find(idQuery, Document.class, mongoTemplate.getCollectionName(Spot.class))
+                        .stream()
+                        .map(spot -> ((Number) spot.get("_id")).longValue())
+                        .toList();
+        final var cached = spotCatalogCache.getAll(spotIds);
+        final var spots = spotIds.stream().map(cached::get).filter(Objects::nonNull).toList();
+        final var nextCursor =
+                spotIds.size() == cappedLimit ? Cursors.encode(spotIds.get(spotIds.size() - 1)) : null;
+        return new CursorPage<>(spots, nextCursor);
+    }
+
+    /**
+     * Writes every spot as one JSON document per line straight off the Mongo cursor, so a full
+     * catalog sync holds at most one cursor batch in memory.
+     */
+    public void streamSpots(OutputStream outputStream) throws IOException {
+        final var query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).cursorBatchSize(500);
+        final var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (var spots = mongoTemplate.stream(query, Spot.class);
+                var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // Each line ends with its own '\n'; the default " " root separator would otherwise
+            // start every line after the first with a space.
+            generator.setRootValueSeparator(null);
+            final var iterator = spots.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
     }
 
-    @Transactional
     public Spot getSpot(Long id) {
-        return spotsRepository
-                .findById(id)
-                .orElseThrow(() -> new InvalidSpotIdException("Invalid spot id"));
+        return spotCatalogCache.get(id).orElseThrow(() -> SPOT_NOT_FOUND);
+    }
+
+    public List<NearbySpot> getNearbySpots(
+            double latitude, double longitude, Double radiusKm, int limit) {
+        // Written so that NaN, which fails every comparison, is rejected too.
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new InvalidInputException("Latitude or longitude is out of range!");
+        }
+        if (radiusKm != null && !(radiusKm > 0 && Double.isFinite(radiusKm))) {
+            throw new InvalidInputException("Radius must be positive!");
+        }
+        final int cappedLimit = Math.max(1, Math.min(limit, MAX_NEARBY_SPOTS));
+        if (!spotGeoIndex.isReady()) {
+            return findNearbySpotsInMongo(latitude, longitude, radiusKm, cappedLimit);
+        }
+        final var hits =
+                radiusKm == null
+                        ? spotGeoIndex.nearest(latitude, longitude, cappedLimit)
+                        : spotGeoIndex.withinRadius(latitude, longitude, radiusKm, cappedLimit);
+        final var spots =
+                spotCatalogCache.getAll(hits.stream().map(SpotGeoIndex.Hit::getSpotId).toList());
+        final List<NearbySpot> nearbySpots = new ArrayList<>(hits.size());
+        for (SpotGeoIndex.Hit hit : hits) {
+            final var spot = spots.get(hit.getSpotId());
+            if (spot != null) {
+                nearbySpots.add(new NearbySpot(spot, hit.getDistanceKm()));
+            }
+        }
+        return nearbySpots;
+    }
+
+    /** Answers from the 2dsphere index while the in-memory grid is still loading. */
+    private List<NearbySpot> findNearbySpotsInMongo(
+            double latitude, double longitude, Double radiusKm, int limit) {
+        var nearQuery =
+                NearQuery.near(new Point(longitude, latitude), Metrics.KILOMETERS)
+                        .spherical(true)
+                        .limit(limit);
+        if (radiusKm != null) {
+            nearQuery = nearQuery.maxDistance(new Distance(radiusKm, Metrics.KILOMETERS));
+        }
+        return mongoTemplate.geoNear(nearQuery, Spot.class).getContent().stream()
+                .map(result -> new NearbySpot(result.getContent(), result.getDistance().getValue()))
+                .toList();
     }
 
     @Transactional
-    public Spot getRandomSpot(String authHeader) {
-        if (spotsRepository.count() == 0) throw new InvalidSpotIdException("No spots available yet");
-        String jwt = authHeader.substring(7);
+    public Spot getRandomSpot(String email) {
+        if (spotIdIndex.isEmpty()) throw new InvalidSpotIdException("No spots available yet");
         final var user =
                 userRepository
-                        .findUserByEmail(jwtService.extractEmail(jwt))
+                        .findUserByEmail(email)
                         .orElseThrow(() -> new InvalidJwtTokenException("Invalid jwt token"));
         final var payment = paymentRepository.findPaymentByUserId(user.getId()).orElse(null);
         final var isPayed =
@@ -110,37 +226,63 @@ public class SpotsService {
         } else {
             if (payment.isUsed()) throw new SpotRerollAlreadyUsed("Spot reroll already used!");
         }
-        var firstSpotId = spotsRepository.findFirstByOrderByIdAsc().get().getId();
-        var lastSpotId = spotsRepository.findFirstByOrderByIdDesc().get().getId();
-
-        var randomIndex = random.longs(firstSpotId, lastSpotId).findFirst().getAsLong();
-
-        final var randomSpot = spotsRepository.findById(randomIndex);
+        final var conqueredSpots =
+                user.getConqueredSpots() == null ? Set.<Long>of() : user.getConqueredSpots();
+        final var randomSpot = pickRandomSpot(conqueredSpots);
         user.setNextRandomSpotGeneratedTime(LocalDateTime.now().plus(Duration.ofDays(7)));
-        user.setCurrentSpotId(randomIndex);
-        payment.setUsed(true);
-        paymentRepository.save(payment);
-        userRepository.save(user);
-        return randomSpot.get();
+        user.setCurrentSpotId(randomSpot.getId());
+        if (payment != null) {
+            payment.setUsed(true);
+            paymentRepository.save(payment);
+        }
+        // Only the roll fields are written, so a concurrent $addToSet on conqueredSpots survives.
+        mongoTemplate.updateFirst(
+                query(where("_id").is(user.getId())),
+                new Update()
+                        .set("nextRandomSpotGeneratedTime", user.getNextRandomSpotGeneratedTime())
+                        .set("currentSpotId", user.getCurrentSpotId()),
+                User.class);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+        return randomSpot;
     }
 
-    public List<Review> getSpotReviews(Long spotId, Integer pageNum) {
-        Pageable pageable = PageRequest.of(pageNum, 5);
-        List<Review> reviews = reviewRepository.findAllBySpotId(spotId, pageable).getContent();
-
-        if (reviews.isEmpty()) {
-            throw new InvalidSpotIdException("No reviews posted yet!");
+    private Spot pickRandomSpot(Set<Long> conqueredSpots) {
+        // The index lags another node's delete until its broadcast arrives, so retry a few picks.
+        for (int attempt = 0; attempt < 3; attempt++) {
+            final var spotId =
+                    spotIdIndex
+                            .randomSpotId(conqueredSpots)
+                            .orElseThrow(() -> new InvalidSpotIdException("All spots are already conquered"));
+            final var spot = spotCatalogCache.get(spotId);
+            if (spot.isPresent()) {
+                return spot.get();
+            }
+            spotIdIndex.remove(spotId);
         }
+        throw new InvalidSpotIdException("No spots available yet");
+    }
 
-        return reviews;
+    /** Returns a spot's reviews newest first, served from the {spotId, _id} index. */
+    public CursorPage<Review> getSpotReviews(Long spotId, String cursor, int limit) {
+        final int cappedLimit = Math.max(1, Math.min(limit, MAX_REVIEWS_PAGE_SIZE));
+        final var pageable = PageRequest.of(0, cappedLimit);
+        final var reviews =
+                cursor == null
+                        ? reviewRepository.findBySpotIdOrderByIdDesc(spotId, pageable)
+                        : reviewRepository.findBySpotIdAndIdLessThanOrderByIdDesc(
+                                spotId, Cursors.decode(cursor), pageable);
+        final var nextCursor =
+                reviews.size() == cappedLimit
+                        ? Cursors.encode(reviews.get(reviews.size() - 1).getId())
+                        : null;
+        return new CursorPage<>(reviews, nextCursor);
     }
 
     @Transactional
-    public void addSpotReview(Long spotId, ReviewBody reviewBody, String authHeader) {
-        final String jwt = authHeader.substring(7);
+    public void addSpotReview(Long spotId, ReviewBody reviewBody, String email) {
         User user =
                 userRepository
-                        .findUserByEmail(jwtService.extractEmail(jwt))
+                        .findUserByEmail(email)
                         .orElseThrow(() -> new InvalidUserException(USER_WITH_THIS_ID_DOESN_T_EXISTS));
         Review review =
                 Review.builder()
@@ -157,26 +299,29 @@ public class SpotsService {
                         .build();
         review.setUserInfo(reviewerInfo);
 
-        reviewValidator.validate(review);
-        Spot spot =
-                spotsRepository
-                        .findById(spotId)
-                        .orElseThrow(() -> new InvalidSpotIdException(SPOT_WITH_THIS_ID_DOESN_T_EXISTS));
-        List<Review> reviews =
-                reviewRepository.findAllBySpotId(spotId, Pageable.ofSize(10)).getContent();
-        OptionalDouble averageRating = reviews.stream().mapToDouble(Review::getRating).average();
-        double overallRating = averageRating.orElse(0.0); // Default to 0 if there are no reviews
-        spot.setOverallRating((float) overallRating);
-
+        validator.validate(review);
+        final var result =
+                mongoTemplate.updateFirst(
+                        query(where("_id").is(spotId)),
+                        new Update().inc("ratingSum", review.getRating()).inc("ratingCount", 1),
+                        Spot.class);
+        if (result.getMatchedCount() == 0) {
+            throw SPOT_NOT_FOUND;
+        }
         reviewRepository.insert(review);
-        spotsRepository.save(spot);
+        eventPublisher.publishEvent(new SpotUpdatedEvent(spotId));
     }
 
     @Transactional
     public void deleteSpotReview(Long reviewId) {
-        if (!reviewRepository.existsById(reviewId)) {
-            throw new InvalidSpotIdException(SPOT_WITH_THIS_ID_DOESN_T_EXISTS);
+        final var review = mongoTemplate.findAndRemove(query(where("_id").is(reviewId)), Review.class);
+        if (review == null) {
+            throw REVIEW_NOT_FOUND;
         }
-        reviewRepository.deleteById(reviewId);
+        mongoTemplate.updateFirst(
+                query(where("_id").is(review.getSpotId())),
+                new Update().inc("ratingSum", -review.getRating()).inc("ratingCount", -1),
+                Spot.class);
+        eventPublisher.publishEvent(new SpotUpdatedEvent(review.getSpotId()));
     }
 }
@@ -1,7 +0,0 @@
-package com.spots.service.user;
-
-public class InvalidImageException extends RuntimeException {
-    public InvalidImageException(String message) {
-        super(message);
-    }
-}
@@ -1,7 +1,10 @@
 package com.spots.service.user;
 
-public class InvalidUserException extends RuntimeException {
+import com.spots.common.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidUserException extends ApiException {
     public InvalidUserException(String message) {
-        super(message);
+        super(HttpStatus.NOT_FOUND, message);
     }
 }
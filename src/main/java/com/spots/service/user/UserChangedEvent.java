@@ -0,0 +1,11 @@
+package com.spots.service.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Published whenever a stored user changes, is deleted or logs out. */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final String email;
+}
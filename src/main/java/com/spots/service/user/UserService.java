@@ -1,27 +1,35 @@
 package com.spots.service.user;
 
-import static com.spots.SpotsServicesApplication.IMAGE_DIR;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
 
+import com.spots.common.Cursors;
 import com.spots.common.GenericValidator;
 import com.spots.common.input.ConquerBody;
 import com.spots.common.input.UserBody;
+import com.spots.common.output.CursorPage;
+import com.spots.common.output.SpotSummary;
 import com.spots.common.output.UserDto;
-import com.spots.domain.Spot;
 import com.spots.domain.User;
-import com.spots.repository.SpotsRepository;
 import com.spots.repository.UserRepository;
 import com.spots.service.auth.EmailTakenException;
+import com.spots.service.auth.InvalidInputException;
 import com.spots.service.common.SequenceGeneratorService;
+import com.spots.service.image.ImageStorageService;
+import com.spots.service.spots.SpotCatalogCache;
 import com.spots.service.spots.SpotConqueredException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,49 +37,15 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    private static final int MAX_CONQUERED_PAGE_SIZE = 100;
     private final UserRepository userRepository;
-    private final SpotsRepository spotsRepository;
-    private final GenericValidator<User> userValidator = new GenericValidator<>();
+    private final MongoTemplate mongoTemplate;
+    private final GenericValidator validator;
     private final PasswordEncoder passwordEncoder;
     private final SequenceGeneratorService sequenceGeneratorService;
-
-    private static String generateRandomName(int length) {
-        // Define the characters that can be used in the random string
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-
-        // Create a StringBuilder to store the random string
-        StringBuilder randomString = new StringBuilder();
-
-        // Create a Random object
-        Random random = new Random();
-
-        // Generate random characters and append them to the StringBuilder
-        for (int i = 0; i < length; i++) {
-            int randomIndex = random.nextInt(characters.length());
-            char randomChar = characters.charAt(randomIndex);
-            randomString.append(randomChar);
-        }
-
-        // Convert StringBuilder to String and return
-        return randomString.toString();
-    }
-
-    private String createImage(String base64) {
-        byte[] imageBytes = Base64.getDecoder().decode(base64);
-        String imageName = "image_" + generateRandomName(6) + ".png";
-
-        String imagePath = IMAGE_DIR + imageName;
-
-        try {
-            Path imagePathObj = Path.of(imagePath);
-            Files.write(imagePathObj, imageBytes, StandardOpenOption.CREATE);
-
-            return imageName;
-        } catch (Exception e) {
-            throw new InvalidImageException(
-                    "Something went wrong recreating the image " + e.getMessage());
-        }
-    }
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageStorageService imageStorageService;
+    private final SpotCatalogCache spotCatalogCache;
 
     @Transactional
     public void createUser(UserBody userBody) {
@@ -85,7 +59,7 @@ public class UserService {
         if (userRepository.existsUserByEmail(user.getEmail())) {
             throw new EmailTakenException("User with that email already exists");
         }
-        userValidator.validate(user);
+        validator.validate(user);
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         userRepository.insert(user);
     }
@@ -96,17 +70,38 @@ public class UserService {
                 userRepository
                         .findUserByEmail(userBody.getEmail())
                         .orElseThrow(() -> new InvalidUserException("User does not exist!"));
-        user.setImageName(createImage(userBody.getImageName()));
-        userValidator.validate(user);
-        userRepository.save(user);
+        // Legacy JSON upload: decode while streaming instead of materialising a second byte[].
+        final var base64 = userBody.getImageName().getBytes(StandardCharsets.ISO_8859_1);
+        user.setImageName(
+                imageStorageService.store(
+                        Base64.getDecoder().wrap(new ByteArrayInputStream(base64))));
+        validator.validate(user);
+        mongoTemplate.updateFirst(
+                query(where("_id").is(user.getId())),
+                Update.update("imageName", user.getImageName()),
+                User.class);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+    }
+
+    public String updateImage(String email, InputStream content) {
+        if (!userRepository.existsUserByEmail(email)) {
+            throw new InvalidUserException("User does not exist!");
+        }
+        final var imageName = imageStorageService.store(content);
+        mongoTemplate.updateFirst(
+                query(where("email").is(email)), Update.update("imageName", imageName), User.class);
+        eventPublisher.publishEvent(new UserChangedEvent(email));
+        return imageName;
     }
 
     @Transactional
     public void deleteUser(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new InvalidUserException("User with this id doesn't exist");
-        }
+        final var user =
+                userRepository
+                        .findById(userId)
+                        .orElseThrow(() -> new InvalidUserException("User with this id doesn't exist"));
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
     }
 
     public List<User> getUsers() {
@@ -131,21 +126,52 @@ public class UserService {
 
     @Transactional
     public void conquerSpot(String email, ConquerBody conquerBody) {
-        final var user =
-                userRepository
-                        .findUserByEmail(email)
-                        .orElseThrow(() -> new SpotConqueredException("User doesn't exist"));
-        if (user.getConqueredSpots().contains(conquerBody.getSpotId()))
+        final var result =
+                mongoTemplate.updateFirst(
+                        query(where("email").is(email).and("conqueredSpots").ne(conquerBody.getSpotId())),
+                        new Update().addToSet("conqueredSpots", conquerBody.getSpotId()),
+                        User.class);
+        if (result.getMatchedCount() == 0) {
+            if (!userRepository.existsUserByEmail(email)) {
+                throw new InvalidUserException("User doesn't exist");
+            }
             throw new SpotConqueredException("Spot is already conquered");
-        user.getConqueredSpots().add(conquerBody.getSpotId());
-        userRepository.save(user);
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(email));
     }
 
-    public List<Spot> getConqueredSpots(String email) {
-        final var user =
-                userRepository
-                        .findUserByEmail(email)
-                        .orElseThrow(() -> new SpotConqueredException("User doesn't exist"));
-        return spotsRepository.findAllById(user.getConqueredSpots());
+    /**
+     * Returns a page of the user's conquered spots in the order they were conquered. Only the
+     * requested slice of the id array is read from the user document; the spots themselves come
+     * from the catalog cache.
+     */
+    public CursorPage<SpotSummary> getConqueredSpots(String email, String cursor, int limit) {
+        final int cappedLimit = Math.max(1, Math.min(limit, MAX_CONQUERED_PAGE_SIZE));
+        final long offset = cursor == null ? 0 : Cursors.decode(cursor);
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new InvalidInputException("Invalid cursor!");
+        }
+        final var userQuery = query(where("email").is(email));
+        userQuery.fields().include("email").slice("conqueredSpots", (int) offset, cappedLimit);
+        final var user = mongoTemplate.findOne(userQuery, User.class);
+        if (user == null) {
+            throw new InvalidUserException("User doesn't exist");
+        }
+        final List<Long> spotIds =
+                user.getConqueredSpots() == null ? List.of() : List.copyOf(user.getConqueredSpots());
+        if (spotIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        final var spots = spotCatalogCache.getAll(spotIds);
+        final var summaries =
+                spotIds.stream()
+                        .map(spots::get)
+                        .filter(Objects::nonNull)
+                        .map(SpotSummary::fromSpot)
+                        .toList();
+        final var nextCursor =
+                spotIds.size() == cappedLimit ? Cursors.encode(offset + cappedLimit) : null;
+        return new CursorPage<>(summaries, nextCursor);
     }
 }
@@ -0,0 +1,31 @@
+package com.spots.common;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.spots.common.input.RegisterBody;
+import com.spots.service.auth.InvalidInputException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+class GenericValidatorTest {
+    private final GenericValidator validator =
+            new GenericValidator(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void testValidObjectPasses() {
+        final var body = RegisterBody.builder().email("test@test.com").password("secret").build();
+
+        assertDoesNotThrow(() -> validator.validate(body));
+    }
+
+    @Test
+    void testViolationMessagesAreReported() {
+        final var body = RegisterBody.builder().email("test@test.com").password("sec").build();
+
+        final var e = assertThrows(InvalidInputException.class, () -> validator.validate(body));
+
+        assertEquals("[Password should be between 5 and 15 characters!]", e.getMessage());
+    }
+}
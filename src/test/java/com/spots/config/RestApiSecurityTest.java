@@ -8,8 +8,10 @@ import com.google.gson.Gson;
 import com.spots.common.input.RegisterBody;
 import com.spots.controller.AuthenticationRestController;
 import com.spots.repository.UserRepository;
+import com.spots.service.auth.AuthenticatedUserCache;
 import com.spots.service.auth.AuthenticationService;
 import com.spots.service.auth.JwtService;
+import com.spots.service.auth.TokenRevocationStore;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -32,6 +34,8 @@ public class RestApiSecurityTest {
     @MockBean private RedisTemplate<String, String> redis;
     @MockBean private ValueOperations valueOperations;
     @MockBean private JwtService jwtService;
+    @MockBean private AuthenticatedUserCache authenticatedUserCache;
+    @MockBean private TokenRevocationStore tokenRevocationStore;
 
     @Test
     void testUnauthorizedUserShouldNotBeAbleToLogout() throws Exception {
@@ -0,0 +1,29 @@
+package com.spots.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class TimedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimedPasswordEncoder passwordEncoder =
+            new TimedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry);
+
+    @Test
+    void testEncodeAndMatchesAreTimedSeparately() {
+        assertEquals(
+                0, meterRegistry.get("security.password").tag("operation", "encode").timer().count());
+
+        final var hash = passwordEncoder.encode("secret");
+        assertTrue(passwordEncoder.matches("secret", hash));
+        passwordEncoder.matches("wrong", hash);
+
+        assertEquals(
+                1, meterRegistry.get("security.password").tag("operation", "encode").timer().count());
+        assertEquals(
+                2, meterRegistry.get("security.password").tag("operation", "matches").timer().count());
+    }
+}
@@ -0,0 +1,81 @@
+package com.spots.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.mongodb.client.MongoClients;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MongoDBContainer;
+
+class VirtualThreadsConfigTest {
+
+    @BeforeEach
+    void requireVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+    }
+
+    @Test
+    void testTasksRunOnVirtualThreads() throws Exception {
+        final var executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+        try {
+            final var threadClass =
+                    executor.submit(() -> Thread.currentThread().getClass().getName()).get();
+
+            assertEquals("java.lang.VirtualThread", threadClass);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testMongoTransactionsCommitAndRollBackOnVirtualThreads() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "needs Docker");
+        try (var mongo = new MongoDBContainer("mongo:6.0")) {
+            mongo.start();
+            try (var client = MongoClients.create(mongo.getConnectionString())) {
+                final var databaseFactory = new SimpleMongoClientDatabaseFactory(client, "spots");
+                final var mongoTemplate = new MongoTemplate(databaseFactory);
+                mongoTemplate.createCollection("virtual_thread_check");
+                final var transactionTemplate =
+                        new TransactionTemplate(new MongoTransactionManager(databaseFactory));
+                final var executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+                try {
+                    final List<Future<?>> writes = new ArrayList<>();
+                    for (int i = 0; i < 200; i++) {
+                        final int n = i;
+                        writes.add(
+                                executor.submit(
+                                        () ->
+                                                transactionTemplate.executeWithoutResult(
+                                                        status -> {
+                                                            mongoTemplate.insert(
+                                                                    new Document("n", n), "virtual_thread_check");
+                                                            if (n % 2 == 1) {
+                                                                status.setRollbackOnly();
+                                                            }
+                                                        })));
+                    }
+                    for (Future<?> write : writes) {
+                        write.get();
+                    }
+                } finally {
+                    executor.shutdown();
+                }
+
+                assertEquals(
+                        100,
+                        mongoTemplate.getCollection("virtual_thread_check").countDocuments());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.spots.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.spots.common.output.IndexUsage;
+import com.spots.config.JwtAuthenticationFilter;
+import com.spots.config.SecurityConfiguration;
+import com.spots.service.admin.MongoIndexService;
+import com.spots.service.auth.AuthenticatedUserCache;
+import com.spots.service.auth.JwtService;
+import com.spots.service.auth.TokenRevocationStore;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = {AdminRestController.class})
+@Import(SecurityConfiguration.class)
+public class AdminRestControllerTest {
+    @Autowired private MockMvc mockMvc;
+    @MockBean private MongoIndexService mongoIndexService;
+    @SpyBean private JwtAuthenticationFilter jwtAuthFilter;
+    @MockBean private JwtService jwtService;
+    @MockBean private AuthenticatedUserCache authenticatedUserCache;
+    @MockBean private TokenRevocationStore tokenRevocationStore;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testAdminGetsIndexUsage() throws Exception {
+        when(mongoIndexService.getIndexUsage())
+                .thenReturn(
+                        List.of(
+                                IndexUsage.builder()
+                                        .collection("user")
+                                        .name("email")
+                                        .key(Map.of("email", 1))
+                                        .declared(true)
+                                        .ops(42)
+                                        .build()));
+
+        mockMvc
+                .perform(get("/admin/indexes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("email"))
+                .andExpect(jsonPath("$[0].ops").value(42));
+    }
+
+    @Test
+    @WithMockUser
+    void testUserCannotGetIndexUsage() throws Exception {
+        mockMvc.perform(get("/admin/indexes")).andExpect(status().isForbidden());
+    }
+}
@@ -7,15 +7,21 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.google.gson.Gson;
+import com.spots.common.GenericValidator;
 import com.spots.common.input.RegisterBody;
 import com.spots.config.JwtAuthenticationFilter;
 import com.spots.config.SecurityConfiguration;
 import com.spots.domain.User;
 import com.spots.repository.UserRepository;
 import com.spots.repository.VerificationCodeRepository;
+import com.spots.service.auth.AuthenticatedUserCache;
 import com.spots.service.auth.AuthenticationService;
 import com.spots.service.auth.JwtService;
+import com.spots.service.auth.TokenRevocationStore;
+import com.spots.service.auth.VerificationCodeCache;
 import com.spots.service.common.SequenceGeneratorService;
+import com.spots.service.http.OutboundHttpClients;
+import com.spots.service.mail.MailOutbox;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,7 +32,6 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.http.MediaType;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -39,7 +44,7 @@ class AuthenticationRestControllerTest {
     @MockBean private UserRepository userRepository;
     @MockBean private SequenceGeneratorService sequenceGeneratorService;
     @SpyBean private AuthenticationService authenticationService;
-    @MockBean private JavaMailSender javaMailSender;
+    @MockBean private MailOutbox mailOutbox;
     @MockBean private VerificationCodeRepository verificationCodeRepository;
     @SpyBean private BCryptPasswordEncoder passwordEncoder;
     @MockBean private AuthenticationManager authenticationManager;
@@ -47,6 +52,11 @@ class AuthenticationRestControllerTest {
     @MockBean private RedisTemplate<String, String> redis;
     @MockBean private ValueOperations valueOperations;
     @MockBean private JwtService jwtService;
+    @MockBean private AuthenticatedUserCache authenticatedUserCache;
+    @MockBean private TokenRevocationStore tokenRevocationStore;
+    @MockBean private VerificationCodeCache verificationCodeCache;
+    @MockBean private OutboundHttpClients outboundHttpClients;
+    @SpyBean private GenericValidator validator;
 
     static {
         // SHA-256 of "foo"
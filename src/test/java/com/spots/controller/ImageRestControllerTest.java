@@ -0,0 +1,98 @@
+package com.spots.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.spots.config.JwtAuthenticationFilter;
+import com.spots.config.SecurityConfiguration;
+import com.spots.service.auth.AuthenticatedUserCache;
+import com.spots.service.auth.JwtService;
+import com.spots.service.auth.TokenRevocationStore;
+import com.spots.service.image.ImageStorageService;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = {ImageRestController.class})
+@Import(SecurityConfiguration.class)
+public class ImageRestControllerTest {
+    private static final String HASH = "a".repeat(64);
+    private static final String NAME = HASH + ".png";
+
+    @TempDir Path root;
+    @Autowired private MockMvc mockMvc;
+    @MockBean private ImageStorageService imageStorageService;
+    @SpyBean private JwtAuthenticationFilter jwtAuthFilter;
+    @MockBean private JwtService jwtService;
+    @MockBean private AuthenticatedUserCache authenticatedUserCache;
+    @MockBean private TokenRevocationStore tokenRevocationStore;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Files.writeString(root.resolve(NAME), "0123456789", StandardCharsets.US_ASCII);
+        when(imageStorageService.getRoot()).thenReturn(root);
+    }
+
+    @Test
+    void testFingerprintedImageIsImmutableWithStrongEtag() throws Exception {
+        mockMvc
+                .perform(get("/images/" + NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(
+                        header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void testMatchingEtagReturnsNotModified() throws Exception {
+        mockMvc
+                .perform(get("/images/" + NAME).header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testRangeReturnsPartialContent() throws Exception {
+        mockMvc
+                .perform(get("/images/" + NAME).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        mockMvc
+                .perform(get("/images/" + NAME).header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    void testMissingThumbnailFallsBackToRevalidatedOriginal() throws Exception {
+        mockMvc
+                .perform(get("/images/" + NAME).param("size", "128"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=3600"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void testUnknownImageIsNotFound() throws Exception {
+        mockMvc.perform(get("/images/missing.png")).andExpect(status().isNotFound());
+    }
+}
@@ -1,12 +1,15 @@
 package com.spots.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -16,6 +19,7 @@ import com.spots.common.GenericValidator;
 import com.spots.common.input.LocationBody;
 import com.spots.common.input.ReviewBody;
 import com.spots.common.input.SpotDto;
+import com.spots.common.output.CursorPage;
 import com.spots.config.JwtAuthenticationFilter;
 import com.spots.config.SecurityConfiguration;
 import com.spots.domain.Review;
@@ -23,10 +27,18 @@ import com.spots.domain.Spot;
 import com.spots.repository.SpotsRepository;
 import com.spots.repository.UserRepository;
 import com.spots.repository.VerificationCodeRepository;
+import com.spots.service.auth.AuthenticatedUserCache;
 import com.spots.service.auth.AuthenticationService;
 import com.spots.service.auth.JwtService;
+import com.spots.service.auth.TokenRevocationStore;
+import com.spots.service.auth.VerificationCodeCache;
 import com.spots.service.common.SequenceGeneratorService;
+import com.spots.service.http.OutboundHttpClients;
+import com.spots.service.mail.MailOutbox;
+import com.spots.service.spots.InvalidSpotIdException;
 import com.spots.service.spots.SpotsService;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -45,7 +57,6 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.http.MediaType;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -64,7 +75,7 @@ public class SpotsRestControllerTest {
     @Autowired private MockMvc mockMvc;
     @MockBean private SpotsService spotsService;
     @MockBean private SequenceGeneratorService sequenceGeneratorService;
-    @MockBean private JavaMailSender javaMailSender;
+    @MockBean private MailOutbox mailOutbox;
     @MockBean private VerificationCodeRepository verificationCodeRepository;
     @MockBean private SpotsRepository spotsRepository;
     @MockBean private UserRepository userRepository;
@@ -75,6 +86,10 @@ public class SpotsRestControllerTest {
     @MockBean private RedisTemplate<String, String> redis;
     @MockBean private ValueOperations valueOperations;
     @MockBean private JwtService jwtService;
+    @MockBean private AuthenticatedUserCache authenticatedUserCache;
+    @MockBean private TokenRevocationStore tokenRevocationStore;
+    @MockBean private VerificationCodeCache verificationCodeCache;
+    @MockBean private OutboundHttpClients outboundHttpClients;
 
     @MockBean private GenericValidator validator;
 
@@ -110,7 +125,7 @@ public class SpotsRestControllerTest {
 
         List<Spot> spots = Arrays.asList(spot1, spot2);
 
-        when(spotsService.getSpots()).thenReturn(spots);
+        when(spotsService.getSpots(null, 100)).thenReturn(new CursorPage<>(spots, null));
 
         mockMvc
                 .perform(
@@ -128,9 +143,52 @@ public class SpotsRestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].name").value(spot2.getName()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].description").value(spot2.getDescription()))
                 .andExpect(
-                        MockMvcResultMatchers.jsonPath("$[1].overallRating").value(spot2.getOverallRating()));
+                        MockMvcResultMatchers.jsonPath("$[1].overallRating").value(spot2.getOverallRating()))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER));
 
-        verify(spotsService, times(1)).getSpots();
+        verify(spotsService, times(1)).getSpots(null, 100);
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetSpotsReturnsNextCursor() throws Exception {
+        Spot spot = Spot.builder().id(123L).name("spot1").description("description1").build();
+
+        when(spotsService.getSpots("cursor", 1)).thenReturn(new CursorPage<>(List.of(spot), "next"));
+
+        mockMvc
+                .perform(
+                        MockMvcRequestBuilders.get("/spots?cursor=cursor&limit=1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.header().string(CursorPage.NEXT_CURSOR_HEADER, "next"));
+    }
+
+    @Test
+    @WithMockUser
+    public void testStreamSpotsWritesNdjsonOnAsyncDispatch() throws Exception {
+        doAnswer(
+                        invocation -> {
+                            final OutputStream outputStream = invocation.getArgument(0);
+                            outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+                            return null;
+                        })
+                .when(spotsService)
+                .streamSpots(any(OutputStream.class));
+
+        final var result =
+                mockMvc
+                        .perform(MockMvcRequestBuilders.get("/spots/stream").with(csrf()))
+                        .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                        .andReturn();
+
+        mockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string("{\"id\":1}\n{\"id\":2}\n"));
     }
 
     @Test
@@ -216,6 +274,29 @@ public class SpotsRestControllerTest {
         verify(spotsService, times(1)).deleteSpot(123L);
     }
 
+    @Test
+    @WithMockUser
+    public void testGetUnknownSpotIsNotFound() throws Exception {
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(yourMockAuthentication());
+        SecurityContextHolder.setContext(securityContext);
+
+        when(spotsService.getSpot(123L))
+                .thenThrow(new InvalidSpotIdException("Spot with this id doesn't exists!"));
+
+        mockMvc
+                .perform(
+                        MockMvcRequestBuilders.get("/spots/123")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value(404))
+                .andExpect(
+                        MockMvcResultMatchers.jsonPath("$.error")
+                                .value("Spot with this id doesn't exists!"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.path").value("/spots/123"));
+    }
+
     @Test
     @WithMockUser
     public void testGetSpotReviews() throws Exception {
@@ -228,19 +309,31 @@ public class SpotsRestControllerTest {
         List<Review> reviews = new ArrayList<>();
         reviews.add(review);
 
-        when(spotsService.getSpotReviews(123L, 1)).thenReturn(reviews);
+        when(spotsService.getSpotReviews(123L, null, 5)).thenReturn(new CursorPage<>(reviews, null));
 
         mockMvc
                 .perform(
-                        MockMvcRequestBuilders.get("/spots/123/reviews?pageNum=1")
+                        MockMvcRequestBuilders.get("/spots/123/reviews")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .with(csrf()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].rating").value(review.getRating()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].comment").value(review.getComment()));
 
-        verify(spotsService, times(1)).getSpotReviews(123L, 1);
+        verify(spotsService, times(1)).getSpotReviews(123L, null, 5);
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetSpotReviewsWithoutReviewsReturnsEmptyList() throws Exception {
+        when(spotsService.getSpotReviews(123L, null, 5)).thenReturn(new CursorPage<>(List.of(), null));
+
+        mockMvc
+                .perform(MockMvcRequestBuilders.get("/spots/123/reviews").with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
     }
 
     @Test
@@ -265,7 +358,7 @@ public class SpotsRestControllerTest {
 
         ArgumentCaptor<ReviewBody> reviewCaptor = ArgumentCaptor.forClass(ReviewBody.class);
         verify(spotsService, times(1))
-                .addSpotReview(anyLong(), reviewCaptor.capture(), nullable(String.class));
+                .addSpotReview(anyLong(), reviewCaptor.capture(), eq("user"));
 
         ReviewBody reviewBody = reviewCaptor.getValue();
 
@@ -7,15 +7,22 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import com.google.gson.Gson;
 import com.spots.common.GenericValidator;
 import com.spots.common.input.UserBody;
+import com.spots.common.output.CursorPage;
+import com.spots.common.output.SpotSummary;
 import com.spots.config.JwtAuthenticationFilter;
 import com.spots.config.SecurityConfiguration;
 import com.spots.domain.Role;
 import com.spots.domain.User;
 import com.spots.repository.UserRepository;
 import com.spots.repository.VerificationCodeRepository;
+import com.spots.service.auth.AuthenticatedUserCache;
 import com.spots.service.auth.AuthenticationService;
 import com.spots.service.auth.JwtService;
+import com.spots.service.auth.TokenRevocationStore;
+import com.spots.service.auth.VerificationCodeCache;
 import com.spots.service.common.SequenceGeneratorService;
+import com.spots.service.http.OutboundHttpClients;
+import com.spots.service.mail.MailOutbox;
 import com.spots.service.user.UserService;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,7 +41,6 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.http.MediaType;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -52,7 +58,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 public class UsersSpotControllerTest {
     @Autowired private MockMvc mockMvc;
     @MockBean private UserService userService;
-    @MockBean private JavaMailSender javaMailSender;
+    @MockBean private MailOutbox mailOutbox;
     @MockBean private SequenceGeneratorService sequenceGeneratorService;
     @MockBean private VerificationCodeRepository verificationCodeRepository;
     @MockBean private UserRepository userRepository;
@@ -63,6 +69,10 @@ public class UsersSpotControllerTest {
     @MockBean private RedisTemplate<String, String> redis;
     @MockBean private ValueOperations valueOperations;
     @MockBean private JwtService jwtService;
+    @MockBean private AuthenticatedUserCache authenticatedUserCache;
+    @MockBean private TokenRevocationStore tokenRevocationStore;
+    @MockBean private VerificationCodeCache verificationCodeCache;
+    @MockBean private OutboundHttpClients outboundHttpClients;
     @MockBean private GenericValidator validator;
     @MockBean private MongoTemplate mongoTemplate;
 
@@ -221,4 +231,62 @@ public class UsersSpotControllerTest {
 
         verify(userService, times(1)).deleteUser(1L);
     }
+
+    @Test
+    @WithMockUser
+    public void testGetConqueredSpotsReturnsSummariesAndNextCursor() throws Exception {
+        final var summary = SpotSummary.builder().id(7L).name("Rila").overallRating(9).build();
+        when(userService.getConqueredSpots("test@example.com", null, 20))
+                .thenReturn(new CursorPage<>(List.of(summary), "MjA"));
+
+        mockMvc
+                .perform(MockMvcRequestBuilders.get("/users/test@example.com/conquered").with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(CursorPage.NEXT_CURSOR_HEADER, "MjA"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(7))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Rila"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    public void testUserCanReplaceOwnImage() throws Exception {
+        when(userService.updateImage(eq("test@example.com"), any())).thenReturn("abc.png");
+
+        mockMvc
+                .perform(
+                        MockMvcRequestBuilders.put("/users/test@example.com/image")
+                                .contentType(MediaType.IMAGE_PNG)
+                                .content(new byte[] {1, 2, 3})
+                                .with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("abc.png"));
+    }
+
+    @Test
+    @WithMockUser(username = "other@example.com")
+    public void testUserCannotReplaceAnotherUsersImage() throws Exception {
+        mockMvc
+                .perform(
+                        MockMvcRequestBuilders.put("/users/test@example.com/image")
+                                .contentType(MediaType.IMAGE_PNG)
+                                .content(new byte[] {1, 2, 3})
+                                .with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        verify(userService, never()).updateImage(any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "ADMIN")
+    public void testAdminCanReplaceAnyImage() throws Exception {
+        when(userService.updateImage(eq("test@example.com"), any())).thenReturn("abc.png");
+
+        mockMvc
+                .perform(
+                        MockMvcRequestBuilders.put("/users/test@example.com/image")
+                                .contentType(MediaType.IMAGE_PNG)
+                                .content(new byte[] {1, 2, 3})
+                                .with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
 }
@@ -0,0 +1,24 @@
+package com.spots.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+class IdMappingTest {
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+
+    @Test
+    void testNumericIdsAreExplicitlyMappedToUnderscoreId() {
+        for (Class<?> type :
+                List.of(User.class, Spot.class, Review.class, Payment.class, VerificationCode.class)) {
+            final var idProperty = mappingContext.getRequiredPersistentEntity(type).getRequiredIdProperty();
+
+            assertTrue(idProperty.isExplicitIdProperty(), type.getSimpleName());
+            assertEquals("_id", idProperty.getFieldName(), type.getSimpleName());
+            assertEquals(long.class, idProperty.getType(), type.getSimpleName());
+        }
+    }
+}
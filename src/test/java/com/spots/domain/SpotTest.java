@@ -0,0 +1,22 @@
+package com.spots.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SpotTest {
+
+    @Test
+    void testOverallRatingFallsBackToInitialRatingWithoutReviews() {
+        final var spot = Spot.builder().overallRating(1).ratingSum(0).ratingCount(0).build();
+
+        assertEquals(1f, spot.getOverallRating());
+    }
+
+    @Test
+    void testOverallRatingIsTheAverageOfReviews() {
+        final var spot = Spot.builder().overallRating(1).ratingSum(17).ratingCount(3).build();
+
+        assertEquals(17f / 3, spot.getOverallRating(), 0.0001);
+    }
+}
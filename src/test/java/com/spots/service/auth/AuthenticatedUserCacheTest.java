@@ -0,0 +1,90 @@
+package com.spots.service.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.spots.domain.User;
+import com.spots.repository.UserRepository;
+import com.spots.service.user.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+class AuthenticatedUserCacheTest {
+    private static final String EMAIL = "user@spots.com";
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RedisTemplate<String, String> redis = mock(RedisTemplate.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @BeforeEach
+    void setup() {
+        authenticatedUserCache =
+                new AuthenticatedUserCache(
+                        userRepository,
+                        redis,
+                        new SimpleMeterRegistry(),
+                        100,
+                        Duration.ofMinutes(5),
+                        nanos::get);
+        when(userRepository.findUserByEmail(EMAIL))
+                .thenReturn(Optional.of(User.builder().id(1).email(EMAIL).build()));
+    }
+
+    @Test
+    void testRepeatedLookupsAreServedFromMemory() {
+        assertEquals(1, authenticatedUserCache.get(EMAIL).orElseThrow().getId());
+        assertEquals(1, authenticatedUserCache.get(EMAIL).orElseThrow().getId());
+
+        verify(userRepository, times(1)).findUserByEmail(EMAIL);
+    }
+
+    @Test
+    void testUnknownUserIsEmpty() {
+        when(userRepository.findUserByEmail("unknown@spots.com")).thenReturn(Optional.empty());
+
+        assertTrue(authenticatedUserCache.get("unknown@spots.com").isEmpty());
+    }
+
+    @Test
+    void testChangedUserIsEvictedAndBroadcast() {
+        authenticatedUserCache.get(EMAIL);
+
+        authenticatedUserCache.onUserChanged(new UserChangedEvent(EMAIL));
+        authenticatedUserCache.get(EMAIL);
+
+        verify(redis).convertAndSend(AuthenticatedUserCache.CHANNEL, EMAIL);
+        verify(userRepository, times(2)).findUserByEmail(EMAIL);
+    }
+
+    @Test
+    void testRemoteInvalidationDropsEntry() {
+        authenticatedUserCache.get(EMAIL);
+
+        authenticatedUserCache.onInvalidated(EMAIL);
+        authenticatedUserCache.get(EMAIL);
+
+        verify(userRepository, times(2)).findUserByEmail(EMAIL);
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        authenticatedUserCache.get(EMAIL);
+
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        authenticatedUserCache.get(EMAIL);
+        verify(userRepository, times(1)).findUserByEmail(EMAIL);
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        authenticatedUserCache.get(EMAIL);
+        verify(userRepository, times(2)).findUserByEmail(EMAIL);
+    }
+}
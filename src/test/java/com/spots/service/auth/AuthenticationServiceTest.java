@@ -1,37 +1,56 @@
 package com.spots.service.auth;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
+import com.spots.common.GenericValidator;
 import com.spots.common.input.RegisterBody;
+import com.spots.domain.User;
 import com.spots.domain.VerificationCode;
 import com.spots.repository.UserRepository;
 import com.spots.repository.VerificationCodeRepository;
 import com.spots.service.common.SequenceGeneratorService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.spots.service.http.OutboundClient;
+import com.spots.service.http.OutboundHttpClients;
+import com.spots.service.mail.MailOutbox;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 class AuthenticationServiceTest {
     @InjectMocks private AuthenticationService authenticationService;
-    @Mock private JavaMailSender mailSender;
+    @Mock private MailOutbox mailOutbox;
     @Mock private SequenceGeneratorService sequenceGeneratorService;
     @Mock private VerificationCodeRepository verificationCodeRepository;
 
     @Mock private UserRepository userRepository;
 
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private VerificationCodeCache verificationCodeCache;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private GenericValidator validator;
+    @Mock private OutboundHttpClients outboundHttpClients;
+    @Mock private OutboundClient outboundClient;
 
     public AuthenticationServiceTest() {
         MockitoAnnotations.initMocks(this);
     }
 
     @Test
-    void testRegister() throws MessagingException {
+    void testRegister() {
         RegisterBody registerBody = new RegisterBody();
         registerBody.setEmail("test@example.com");
         registerBody.setPassword("password");
@@ -43,12 +62,81 @@ class AuthenticationServiceTest {
                 .thenReturn(verificationCodeMock);
         when(sequenceGeneratorService.generateSequence(any())).thenReturn(1L);
 
-        MimeMessage mimeMessageMock = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessageMock);
-
         authenticationService.register(registerBody);
 
+        verify(validator, times(1)).validate(registerBody);
         verify(userRepository, times(1)).existsUserByEmail(registerBody.getEmail());
         verify(passwordEncoder, times(1)).encode(registerBody.getPassword());
+        verify(mailOutbox, times(1))
+                .enqueue(eq(registerBody.getEmail()), eq("Spots Verification Code"), anyString());
+    }
+
+    @Test
+    void testVerifyEmailDeletesCodesOfVerifiedUser() {
+        final var user = User.builder().email("test@example.com").build();
+        when(verificationCodeRepository.findVerificationCodeByCode("AbCd1234"))
+                .thenReturn(
+                        Optional.of(
+                                VerificationCode.builder().code("AbCd1234").email(user.getEmail()).build()));
+        when(userRepository.findUserByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        authenticationService.verifyEmail("AbCd1234");
+
+        assertTrue(user.isEmailVerified());
+        verify(verificationCodeRepository, times(1)).deleteByEmail(user.getEmail());
+        verify(verificationCodeCache, times(1)).evict("AbCd1234");
+    }
+
+    @Test
+    void testRejectedSocialTokenIsInvalidWithoutEchoingIt() {
+        final var rejection =
+                WebClientResponseException.create(
+                        HttpStatus.UNAUTHORIZED.value(), "Unauthorized", null, null, null);
+        givenGoogleAnswers(Mono.error(rejection));
+
+        final var e =
+                assertThrows(
+                        InvalidAccessTokenException.class,
+                        () -> authenticationService.loginWithGoogle("secret-token"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, e.getStatus());
+        assertFalse(e.getMessage().contains("secret-token"));
+        assertSame(rejection, e.getCause());
+    }
+
+    @Test
+    void testProviderErrorIsAnOutage() {
+        final var failure =
+                WebClientResponseException.create(
+                        HttpStatus.BAD_GATEWAY.value(), "Bad Gateway", null, null, null);
+        givenGoogleAnswers(Mono.error(failure));
+
+        final var e =
+                assertThrows(
+                        SocialLoginUnavailableException.class,
+                        () -> authenticationService.loginWithGoogle("secret-token"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        assertSame(failure, e.getCause());
+    }
+
+    @Test
+    void testOpenCircuitIsAnOutage() {
+        final var open =
+                CallNotPermittedException.createCallNotPermittedException(
+                        CircuitBreaker.ofDefaults(OutboundHttpClients.GOOGLE));
+        givenGoogleAnswers(Mono.error(open));
+
+        final var e =
+                assertThrows(
+                        SocialLoginUnavailableException.class,
+                        () -> authenticationService.loginWithGoogle("secret-token"));
+
+        assertSame(open, e.getCause());
+    }
+
+    private void givenGoogleAnswers(Mono<Object> answer) {
+        when(outboundHttpClients.get(OutboundHttpClients.GOOGLE)).thenReturn(outboundClient);
+        when(outboundClient.retrieve(any())).thenReturn(answer);
     }
 }
@@ -0,0 +1,49 @@
+package com.spots.service.auth;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+class TokenRevocationStoreTest {
+    private final RedisTemplate<String, String> redis = mock(RedisTemplate.class);
+    private final TokenRevocationStore tokenRevocationStore =
+            new TokenRevocationStore(redis, 1000, 0.01);
+
+    @Test
+    void testRevocationDuringRebuildSurvivesTheSwap() {
+        // The SCAN finds nothing; the revocation arrives while it runs.
+        when(redis.execute(any(RedisCallback.class)))
+                .thenAnswer(
+                        invocation -> {
+                            tokenRevocationStore.onRevoked("revoked-jti");
+                            return null;
+                        });
+        when(redis.hasKey("revoked:revoked-jti")).thenReturn(true);
+
+        tokenRevocationStore.rebuild();
+
+        assertTrue(tokenRevocationStore.isRevoked(token("revoked-jti")));
+    }
+
+    @Test
+    void testSeededFilterSkipsRedisForUnknownTokens() {
+        tokenRevocationStore.rebuild();
+
+        assertFalse(tokenRevocationStore.isRevoked(token("other-jti")));
+        verify(redis, never()).hasKey("revoked:other-jti");
+    }
+
+    private static VerifiedToken token(String tokenId) {
+        return new VerifiedToken(
+                "token", tokenId, "user@spots.com", Instant.now(), Instant.now().plusSeconds(60));
+    }
+}
@@ -0,0 +1,72 @@
+package com.spots.service.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.spots.domain.DatabaseSequence;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class SequenceGeneratorServiceTest {
+    private static final long BLOCK_SIZE = 10;
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final AtomicLong storedSeq = new AtomicLong(1);
+    private SequenceGeneratorService sequenceGeneratorService;
+
+    @BeforeEach
+    void setup() {
+        sequenceGeneratorService =
+                new SequenceGeneratorService(mongoTemplate, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(sequenceGeneratorService, "blockSize", BLOCK_SIZE);
+        when(mongoTemplate.findAndModify(
+                        any(Query.class),
+                        any(Update.class),
+                        any(FindAndModifyOptions.class),
+                        eq(DatabaseSequence.class)))
+                .thenAnswer(
+                        invocation ->
+                                new DatabaseSequence("spot_sequence", storedSeq.addAndGet(BLOCK_SIZE)));
+    }
+
+    @Test
+    void testIdsAreServedFromReservedBlock() {
+        for (long expected = 1; expected <= BLOCK_SIZE; expected++) {
+            assertEquals(expected, sequenceGeneratorService.generateSequence("spot_sequence"));
+        }
+
+        verify(mongoTemplate, times(1))
+                .findAndModify(
+                        any(Query.class),
+                        any(Update.class),
+                        any(FindAndModifyOptions.class),
+                        eq(DatabaseSequence.class));
+        assertEquals(BLOCK_SIZE + 1, sequenceGeneratorService.generateSequence("spot_sequence"));
+    }
+
+    @Test
+    void testConcurrentCallersNeverShareAnId() throws InterruptedException {
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> ids.add(sequenceGeneratorService.generateSequence("spot_sequence")));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(1000, ids.size());
+    }
+}
@@ -0,0 +1,119 @@
+package com.spots.service.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.resources.ConnectionProvider;
+
+class OutboundHttpClientsTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private HttpServer server;
+    private ConnectionProvider connectionProvider;
+    private OutboundClient client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200, "ok"));
+        server.createContext(
+                "/flaky",
+                exchange -> respond(exchange, calls.incrementAndGet() < 3 ? 503 : 200, "recovered"));
+        server.createContext("/failing", exchange -> respond(exchange, 500, "down"));
+        server.createContext(
+                "/slow",
+                exchange -> {
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    respond(exchange, 200, "late");
+                });
+        server.start();
+
+        final var provider = new OutboundHttpProperties.Provider();
+        provider.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        provider.setReadTimeout(Duration.ofMillis(200));
+        provider.setRetryBackoff(Duration.ofMillis(10));
+        final var properties = new OutboundHttpProperties();
+        properties.getProviders().put("stub", provider);
+        connectionProvider = ConnectionProvider.create("test", 10);
+        client =
+                new OutboundHttpClients(
+                                WebClient.builder(),
+                                connectionProvider,
+                                CircuitBreakerRegistry.ofDefaults(),
+                                properties)
+                        .get("stub");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        connectionProvider.dispose();
+    }
+
+    @Test
+    void testIdempotentCallIsRetriedOnServerErrors() {
+        final var body =
+                client.retrieve(c -> c.get().uri("/flaky").retrieve().bodyToMono(String.class)).block();
+
+        assertEquals("recovered", body);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testSendIsNeverRetried() {
+        assertThrows(
+                WebClientResponseException.class,
+                () -> client.send(c -> c.post().uri("/flaky").retrieve().bodyToMono(String.class)).block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testReadTimeoutFailsTheCall() {
+        assertThrows(
+                WebClientRequestException.class,
+                () -> client.send(c -> c.get().uri("/slow").retrieve().bodyToMono(String.class)).block());
+    }
+
+    @Test
+    void testCircuitOpensAfterRepeatedFailures() {
+        // The breaker evaluates once the time window holds 10 calls, with a 50% failure threshold.
+        for (int i = 0; i < 10; i++) {
+            try {
+                client.send(c -> c.get().uri("/failing").retrieve().bodyToMono(String.class)).block();
+            } catch (WebClientResponseException ignored) {
+                // expected while the circuit is still closed
+            }
+        }
+
+        assertThrows(
+                CallNotPermittedException.class,
+                () -> client.send(c -> c.get().uri("/ok").retrieve().bodyToMono(String.class)).block());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body)
+            throws IOException {
+        final var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.spots.service.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImageStorageServiceTest {
+    @TempDir Path root;
+    private ImageStorageService imageStorageService;
+
+    @BeforeEach
+    void setup() {
+        imageStorageService = new ImageStorageService(root, Runnable::run, 1024 * 1024);
+    }
+
+    @Test
+    void testSameContentIsStoredOnce() throws IOException {
+        final var png = png(64, 32);
+
+        final var first = imageStorageService.store(new ByteArrayInputStream(png));
+        final var second = imageStorageService.store(new ByteArrayInputStream(png));
+
+        assertEquals(first, second);
+        assertTrue(first.matches("[0-9a-f]{64}\\.png"));
+        try (var files = Files.list(root)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testThumbnailsAreGeneratedForLargeImages() throws IOException {
+        final var name = imageStorageService.store(new ByteArrayInputStream(png(1024, 512)));
+
+        final var small = ImageIO.read(thumbnail(name, 128));
+        final var medium = ImageIO.read(thumbnail(name, 512));
+        assertEquals(128, small.getWidth());
+        assertEquals(64, small.getHeight());
+        assertEquals(512, medium.getWidth());
+    }
+
+    @Test
+    void testUnknownFormatIsRejected() throws IOException {
+        assertThrows(
+                InvalidImageException.class,
+                () -> imageStorageService.store(new ByteArrayInputStream("not an image".getBytes())));
+        try (var files = Files.list(root)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testOversizedUploadIsRejected() {
+        final var large = new byte[2 * 1024 * 1024];
+
+        assertThrows(
+                InvalidImageException.class,
+                () -> imageStorageService.store(new ByteArrayInputStream(large)));
+    }
+
+    private File thumbnail(String name, int size) {
+        return root.resolve(ImageStorageService.thumbnailName(name, size)).toFile();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.spots.service.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.spots.domain.OutboxEmail;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+class MailDispatcherTest {
+    @RegisterExtension static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MailOutbox mailOutbox = mock(MailOutbox.class);
+
+    @Test
+    void testBatchIsDeliveredAndRemovedFromOutbox() {
+        final var batch = emails(3);
+        when(mailOutbox.claimBatch(10)).thenReturn(batch, List.of());
+
+        new MailDispatcher(mailOutbox, sender(smtp.getSmtp().getPort()), "test@spots.com", 10)
+                .dispatch();
+
+        assertEquals(3, smtp.getReceivedMessages().length);
+        batch.forEach(email -> verify(mailOutbox).markSent(email));
+        verify(mailOutbox, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void testUnreachableServerSchedulesRetries() throws Exception {
+        final int closedPort;
+        try (var socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        final var batch = emails(2);
+
+        new MailDispatcher(mailOutbox, sender(closedPort), "test@spots.com", 10).send(batch);
+
+        batch.forEach(email -> verify(mailOutbox).markFailed(eq(email), any()));
+        verify(mailOutbox, never()).markSent(any());
+    }
+
+    @Test
+    void testFullBatchesAreDrainedInOneRun() {
+        when(mailOutbox.claimBatch(2)).thenReturn(emails(2), emails(2), emails(1));
+
+        new MailDispatcher(mailOutbox, sender(smtp.getSmtp().getPort()), "test@spots.com", 2)
+                .dispatch();
+
+        verify(mailOutbox, times(3)).claimBatch(2);
+        assertEquals(5, smtp.getReceivedMessages().length);
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        final var sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        return sender;
+    }
+
+    private static List<OutboxEmail> emails(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(
+                        i ->
+                                OutboxEmail.builder()
+                                        .id("email-" + i)
+                                        .to("user" + i + "@spots.com")
+                                        .subject("Spots Verification Code")
+                                        .html("Your verification code is: <strong>ABC12" + i + "</strong>")
+                                        .status(OutboxEmail.Status.PENDING)
+                                        .attempts(1)
+                                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,120 @@
+package com.spots.service.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.spots.domain.OutboxEmail;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+class MailOutboxTest {
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration LEASE = Duration.ofMinutes(2);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final MailOutbox mailOutbox = new MailOutbox(mongoTemplate, 8, RETRY_BACKOFF, LEASE);
+
+    @Test
+    void testBackoffDoublesPerAttemptWithUpToTwentyPercentJitter() {
+        for (int attempts = 1; attempts <= 5; attempts++) {
+            final var base = RETRY_BACKOFF.multipliedBy(1L << (attempts - 1));
+            final var backoff = mailOutbox.backoff(attempts);
+
+            assertTrue(backoff.compareTo(base) >= 0, "attempt " + attempts);
+            assertTrue(backoff.compareTo(base.plus(base.dividedBy(5))) <= 0, "attempt " + attempts);
+        }
+    }
+
+    @Test
+    void testBackoffIsCappedAtOneHour() {
+        for (int attempts : new int[] {8, 20, 64}) {
+            final var backoff = mailOutbox.backoff(attempts);
+
+            assertTrue(backoff.compareTo(Duration.ofHours(1)) >= 0, "attempt " + attempts);
+            assertTrue(backoff.compareTo(Duration.ofMinutes(72)) <= 0, "attempt " + attempts);
+        }
+    }
+
+    @Test
+    void testFailureBeforeLastAttemptIsRescheduled() {
+        final var before = LocalDateTime.now();
+
+        mailOutbox.markFailed(email(3), new IllegalStateException("smtp down"));
+
+        final var set = updateFirstSet();
+        assertEquals("smtp down", set.get("lastError"));
+        assertFalse(set.containsKey("status"));
+        final var nextAttemptAt = (LocalDateTime) set.get("nextAttemptAt");
+        assertFalse(nextAttemptAt.isBefore(before.plus(RETRY_BACKOFF.multipliedBy(4))));
+    }
+
+    @Test
+    void testFailureOnLastAttemptGivesUp() {
+        mailOutbox.markFailed(email(8), new IllegalStateException("smtp down"));
+
+        final var set = updateFirstSet();
+        assertEquals(OutboxEmail.Status.FAILED, set.get("status"));
+        assertFalse(set.containsKey("nextAttemptAt"));
+    }
+
+    @Test
+    void testClaimLeasesDueEmailsWithoutLeavingPending() {
+        when(mongoTemplate.findAndModify(
+                        any(Query.class),
+                        any(Update.class),
+                        any(FindAndModifyOptions.class),
+                        eq(OutboxEmail.class)))
+                .thenReturn(email(1), (OutboxEmail) null);
+        final var before = LocalDateTime.now();
+
+        assertEquals(1, mailOutbox.claimBatch(10).size());
+
+        final var query = ArgumentCaptor.forClass(Query.class);
+        final var update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2))
+                .findAndModify(
+                        query.capture(),
+                        update.capture(),
+                        any(FindAndModifyOptions.class),
+                        eq(OutboxEmail.class));
+        // Only PENDING emails whose lease or backoff has run out are claimable, so an email
+        // claimed by a node that died is reclaimed once its lease expires.
+        final var criteria = query.getValue().getQueryObject();
+        assertEquals(OutboxEmail.Status.PENDING, criteria.get("status"));
+        assertTrue(((Document) criteria.get("nextAttemptAt")).containsKey("$lte"));
+        final var claim = update.getValue().getUpdateObject();
+        assertEquals(new Document("attempts", 1), claim.get("$inc"));
+        final var set = (Document) claim.get("$set");
+        assertEquals(1, set.size());
+        final var leasedUntil = (LocalDateTime) set.get("nextAttemptAt");
+        assertFalse(leasedUntil.isBefore(before.plus(LEASE)));
+        assertTrue(leasedUntil.isBefore(LocalDateTime.now().plus(LEASE).plusSeconds(1)));
+    }
+
+    private Document updateFirstSet() {
+        final var update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(OutboxEmail.class));
+        return (Document) update.getValue().getUpdateObject().get("$set");
+    }
+
+    private static OutboxEmail email(int attempts) {
+        return OutboxEmail.builder()
+                .id("email-" + attempts)
+                .status(OutboxEmail.Status.PENDING)
+                .attempts(attempts)
+                .build();
+    }
+}
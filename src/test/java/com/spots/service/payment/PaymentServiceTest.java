@@ -0,0 +1,75 @@
+package com.spots.service.payment;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.spots.common.input.PaymentCallbackBody;
+import com.spots.domain.Payment;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PaymentServiceTest {
+    private static final String API_KEY = "test-api-key";
+    @InjectMocks private PaymentService paymentService;
+    @Mock private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(paymentService, "apiKey", API_KEY);
+    }
+
+    @Test
+    void testSignedCallbackUpdatesStatus() throws Exception {
+        final var callback = new PaymentCallbackBody();
+        callback.setId("charge-1");
+        callback.setStatus("paid");
+        callback.setHashed_order(hmac("charge-1"));
+
+        paymentService.handleCallback(callback);
+
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(Payment.class));
+    }
+
+    @Test
+    void testForgedCallbackIsRejected() throws Exception {
+        final var callback = new PaymentCallbackBody();
+        callback.setId("charge-1");
+        callback.setStatus("paid");
+        callback.setHashed_order(hmac("charge-2"));
+
+        assertThrows(
+                InvalidPaymentSignatureException.class, () -> paymentService.handleCallback(callback));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Payment.class));
+    }
+
+    @Test
+    void testUnsignedCallbackIsRejected() {
+        final var callback = new PaymentCallbackBody();
+        callback.setId("charge-1");
+        callback.setStatus("paid");
+
+        assertThrows(
+                InvalidPaymentSignatureException.class, () -> paymentService.handleCallback(callback));
+    }
+
+    private static String hmac(String chargeId) throws Exception {
+        final var mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(API_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(chargeId.getBytes(StandardCharsets.UTF_8)));
+    }
+}
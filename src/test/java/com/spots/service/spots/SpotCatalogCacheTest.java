@@ -0,0 +1,117 @@
+package com.spots.service.spots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.spots.domain.Spot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class SpotCatalogCacheTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final RedisTemplate<String, String> redis = mock(RedisTemplate.class);
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SpotCatalogCache spotCatalogCache;
+
+    @BeforeEach
+    void setup() {
+        spotCatalogCache =
+                new SpotCatalogCache(
+                        mongoTemplate, redis, meterRegistry, 100, Duration.ofMinutes(10), false, Duration.ZERO);
+        when(mongoTemplate.find(any(Query.class), eq(Spot.class)))
+                .thenReturn(List.of(Spot.builder().id(1).name("Rila").build()));
+    }
+
+    @Test
+    void testRepeatedReadsAreServedFromMemory() {
+        assertEquals("Rila", spotCatalogCache.get(1).orElseThrow().getName());
+        assertEquals("Rila", spotCatalogCache.get(1).orElseThrow().getName());
+
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Spot.class));
+        final var hits =
+                meterRegistry.get("cache.gets").tags("cache", "spots", "result", "hit").functionCounter();
+        assertEquals(1, hits.count());
+    }
+
+    @Test
+    void testInvalidationReloadsAndIsBroadcast() {
+        spotCatalogCache.get(1);
+
+        spotCatalogCache.onSpotUpdated(new SpotUpdatedEvent(1));
+        spotCatalogCache.get(1);
+
+        verify(redis).convertAndSend(SpotCatalogCache.CHANNEL, "1");
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Spot.class));
+    }
+
+    @Test
+    void testRemoteInvalidationDropsEntry() {
+        spotCatalogCache.get(1);
+
+        spotCatalogCache.onInvalidated("1");
+        spotCatalogCache.get(1);
+
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Spot.class));
+    }
+
+    @Test
+    void testMissingSpotsAreLeftOut() {
+        assertTrue(spotCatalogCache.getAll(List.of(1L, 2L)).keySet().contains(1L));
+        assertEquals(1, spotCatalogCache.getAll(List.of(1L, 2L)).size());
+    }
+
+    @Test
+    void testLoadsAreWrittenBackOnlyIfTheVersionIsUnchanged() {
+        final var cache = redisBackedCache();
+        when(valueOperations.multiGet(List.of("spot:1", "spot-version:1")))
+                .thenReturn(Arrays.asList(null, "4"));
+
+        cache.get(1);
+
+        verify(redis)
+                .execute(
+                        any(RedisScript.class),
+                        eq(List.of("spot-version:1", "spot:1")),
+                        eq("4"),
+                        anyString(),
+                        eq("3600000"));
+    }
+
+    @Test
+    void testInvalidationBumpsTheVersionBeforeDeleting() {
+        final var cache = redisBackedCache();
+
+        cache.invalidate(1);
+
+        final var order = inOrder(valueOperations, redis);
+        order.verify(valueOperations).increment("spot-version:1");
+        order.verify(redis).delete("spot:1");
+        order.verify(redis).convertAndSend(SpotCatalogCache.CHANNEL, "1");
+    }
+
+    private SpotCatalogCache redisBackedCache() {
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        when(mongoTemplate.getConverter()).thenReturn(mock(MongoConverter.class));
+        return new SpotCatalogCache(
+                mongoTemplate, redis, meterRegistry, 100, Duration.ofMinutes(10), true, Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,74 @@
+package com.spots.service.spots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.spots.domain.Spot;
+import java.util.List;
+import java.util.Set;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.RedisTemplate;
+
+class SpotChangeBroadcasterTest {
+    private final RedisTemplate<String, String> redis = mock(RedisTemplate.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private SpotIdIndex spotIdIndex;
+    private SpotGeoIndex spotGeoIndex;
+    private SpotChangeBroadcaster spotChangeBroadcaster;
+
+    @BeforeEach
+    void setup() {
+        spotIdIndex = new SpotIdIndex(mongoTemplate);
+        spotGeoIndex = new SpotGeoIndex(mongoTemplate);
+        spotChangeBroadcaster = new SpotChangeBroadcaster(redis, spotIdIndex, spotGeoIndex);
+    }
+
+    @Test
+    void testLocalChangesAreBroadcast() {
+        spotChangeBroadcaster.onSpotCreated(new SpotCreatedEvent(Spot.builder().id(7).build()));
+        spotChangeBroadcaster.onSpotDeleted(new SpotDeletedEvent(8));
+
+        verify(redis).convertAndSend(SpotChangeBroadcaster.CHANNEL, "created:7");
+        verify(redis).convertAndSend(SpotChangeBroadcaster.CHANNEL, "deleted:8");
+    }
+
+    @Test
+    void testRemoteChangesUpdateTheIdIndex() {
+        spotChangeBroadcaster.onMessage("created:7");
+        spotChangeBroadcaster.onMessage("created:8");
+        spotChangeBroadcaster.onMessage("created:8");
+        spotChangeBroadcaster.onMessage("deleted:7");
+
+        assertEquals(1, spotIdIndex.size());
+        assertEquals(8L, spotIdIndex.randomSpotId(Set.of()).getAsLong());
+    }
+
+    @Test
+    void testRemoteChangesUpdateTheGeoIndex() {
+        when(mongoTemplate.getCollectionName(Spot.class)).thenReturn("spots");
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("spots")))
+                .thenReturn(
+                        new Document(
+                                "location", new Document("latitude", 42.6977).append("longitude", 23.3219)));
+
+        spotChangeBroadcaster.onMessage("created:7");
+
+        assertEquals(
+                List.of(7L),
+                spotGeoIndex.withinRadius(42.6977, 23.3219, 1, 10).stream()
+                        .map(SpotGeoIndex.Hit::getSpotId)
+                        .toList());
+
+        spotChangeBroadcaster.onMessage("deleted:7");
+
+        assertEquals(0, spotGeoIndex.withinRadius(42.6977, 23.3219, 1, 10).size());
+    }
+}
@@ -0,0 +1,49 @@
+package com.spots.service.spots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+class SpotGeoIndexTest {
+    private SpotGeoIndex spotGeoIndex;
+
+    @BeforeEach
+    void setup() {
+        spotGeoIndex = new SpotGeoIndex(mock(MongoTemplate.class));
+        // Sofia, Pancharevo, Plovdiv, Varna
+        spotGeoIndex.add(1, 42.6977, 23.3219);
+        spotGeoIndex.add(2, 42.5934, 23.4223);
+        spotGeoIndex.add(3, 42.1354, 24.7453);
+        spotGeoIndex.add(4, 43.2141, 27.9147);
+    }
+
+    @Test
+    void testWithinRadiusReturnsNearestFirst() {
+        final var hits = spotGeoIndex.withinRadius(42.6977, 23.3219, 20, 10);
+
+        assertEquals(List.of(1L, 2L), hits.stream().map(SpotGeoIndex.Hit::getSpotId).toList());
+        assertEquals(0, hits.get(0).getDistanceKm(), 0.001);
+        assertTrue(hits.get(1).getDistanceKm() > 10 && hits.get(1).getDistanceKm() < 20);
+    }
+
+    @Test
+    void testNearestExpandsUntilEnoughSpotsAreFound() {
+        final var hits = spotGeoIndex.nearest(42.6977, 23.3219, 3);
+
+        assertEquals(List.of(1L, 2L, 3L), hits.stream().map(SpotGeoIndex.Hit::getSpotId).toList());
+    }
+
+    @Test
+    void testRemovedSpotsAreNotReturned() {
+        spotGeoIndex.remove(2);
+
+        final var hits = spotGeoIndex.withinRadius(42.6977, 23.3219, 500, 10);
+
+        assertEquals(List.of(1L, 3L, 4L), hits.stream().map(SpotGeoIndex.Hit::getSpotId).toList());
+    }
+}
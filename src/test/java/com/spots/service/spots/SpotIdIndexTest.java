@@ -0,0 +1,60 @@
+package com.spots.service.spots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+class SpotIdIndexTest {
+    private SpotIdIndex spotIdIndex;
+
+    @BeforeEach
+    void setup() {
+        spotIdIndex = new SpotIdIndex(mock(MongoTemplate.class));
+        for (long spotId = 1; spotId <= 100; spotId++) {
+            spotIdIndex.add(spotId);
+        }
+    }
+
+    @Test
+    void testRemovedSpotsAreNeverPicked() {
+        for (long spotId = 1; spotId <= 99; spotId++) {
+            spotIdIndex.remove(spotId);
+        }
+
+        assertEquals(1, spotIdIndex.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(100L, spotIdIndex.randomSpotId(Set.of()).getAsLong());
+        }
+    }
+
+    @Test
+    void testConqueredSpotsAreExcluded() {
+        final Set<Long> conquered = new HashSet<>();
+        for (long spotId = 1; spotId <= 97; spotId++) {
+            conquered.add(spotId);
+        }
+
+        final Set<Long> picked = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            picked.add(spotIdIndex.randomSpotId(conquered).getAsLong());
+        }
+
+        assertEquals(Set.of(98L, 99L, 100L), picked);
+    }
+
+    @Test
+    void testNothingIsPickedWhenEverySpotIsConquered() {
+        final Set<Long> conquered = new HashSet<>();
+        for (long spotId = 1; spotId <= 100; spotId++) {
+            conquered.add(spotId);
+        }
+
+        assertTrue(spotIdIndex.randomSpotId(conquered).isEmpty());
+    }
+}
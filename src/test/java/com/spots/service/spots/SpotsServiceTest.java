@@ -0,0 +1,143 @@
+package com.spots.service.spots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
+import com.spots.common.GenericValidator;
+import com.spots.common.input.ReviewBody;
+import com.spots.domain.Review;
+import com.spots.domain.Spot;
+import com.spots.domain.User;
+import com.spots.repository.ReviewRepository;
+import com.spots.repository.UserRepository;
+import com.spots.service.auth.InvalidInputException;
+import com.spots.service.common.SequenceGeneratorService;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+class SpotsServiceTest {
+    private static final String EMAIL = "user@spots.com";
+    @InjectMocks private SpotsService spotsService;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private SpotGeoIndex spotGeoIndex;
+    @Mock private UserRepository userRepository;
+    @Mock private ReviewRepository reviewRepository;
+    @Mock private SequenceGeneratorService sequenceGeneratorService;
+    @Mock private GenericValidator validator;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(userRepository.findUserByEmail(EMAIL))
+                .thenReturn(Optional.of(User.builder().id(1).username("user").build()));
+        when(sequenceGeneratorService.generateSequence(Review.SEQUENCE_NAME)).thenReturn(10L);
+    }
+
+    @Test
+    void testAddingReviewIncrementsRatingTotals() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Spot.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        spotsService.addSpotReview(5L, new ReviewBody(4, "nice"), EMAIL);
+
+        final var update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Spot.class));
+        assertEquals(
+                new Document("$inc", new Document("ratingSum", 4f).append("ratingCount", 1)),
+                update.getValue().getUpdateObject());
+        verify(reviewRepository).insert(any(Review.class));
+        verify(eventPublisher).publishEvent(any(SpotUpdatedEvent.class));
+    }
+
+    @Test
+    void testReviewOfUnknownSpotIsRejected() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Spot.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThrows(
+                InvalidSpotIdException.class,
+                () -> spotsService.addSpotReview(5L, new ReviewBody(4, "nice"), EMAIL));
+        verify(reviewRepository, never()).insert(any(Review.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testDeletingReviewDecrementsRatingTotals() {
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Review.class)))
+                .thenReturn(Review.builder().id(10).spotId(5L).rating(4).build());
+
+        spotsService.deleteSpotReview(10L);
+
+        final var update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Spot.class));
+        assertEquals(
+                new Document("$inc", new Document("ratingSum", -4f).append("ratingCount", -1)),
+                update.getValue().getUpdateObject());
+        verify(eventPublisher).publishEvent(any(SpotUpdatedEvent.class));
+    }
+
+    @Test
+    void testDeletingUnknownReviewIsRejected() {
+        assertThrows(InvalidReviewIdException.class, () -> spotsService.deleteSpotReview(10L));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Spot.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testStreamWritesOneSpotPerLine() throws Exception {
+        final var rila = Spot.builder().id(1).name("Rila").build();
+        final var pirin = Spot.builder().id(2).name("Pirin").build();
+        when(mongoTemplate.stream(any(Query.class), eq(Spot.class)))
+                .thenReturn(Stream.of(rila, pirin));
+        final var outputStream = new ByteArrayOutputStream();
+
+        spotsService.streamSpots(outputStream);
+
+        final var expected =
+                objectMapper.writeValueAsString(rila) + "\n" + objectMapper.writeValueAsString(pirin) + "\n";
+        assertEquals(expected, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testNearbyRejectsNaNCoordinates() {
+        assertThrows(
+                InvalidInputException.class, () -> spotsService.getNearbySpots(Double.NaN, 23.3, 10.0, 10));
+        assertThrows(
+                InvalidInputException.class, () -> spotsService.getNearbySpots(42.7, Double.NaN, 10.0, 10));
+        verifyNoInteractions(spotGeoIndex);
+    }
+
+    @Test
+    void testNearbyRejectsNaNAndInfiniteRadius() {
+        assertThrows(
+                InvalidInputException.class, () -> spotsService.getNearbySpots(42.7, 23.3, Double.NaN, 10));
+        assertThrows(
+                InvalidInputException.class,
+                () -> spotsService.getNearbySpots(42.7, 23.3, Double.POSITIVE_INFINITY, 10));
+        verifyNoInteractions(spotGeoIndex);
+    }
+}